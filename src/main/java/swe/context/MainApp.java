@@ -16,16 +16,22 @@ import swe.context.commons.util.StringUtil;
 import swe.context.logic.Logic;
 import swe.context.logic.LogicManager;
 import swe.context.model.Contacts;
+import swe.context.model.ContactsSavePolicy;
 import swe.context.model.Model;
 import swe.context.model.ModelManager;
 import swe.context.model.ReadOnlyContacts;
 import swe.context.model.ReadOnlySettings;
 import swe.context.model.Settings;
 import swe.context.model.util.SampleContactsUtil;
+import swe.context.storage.AsyncContactsStorage;
+import swe.context.storage.BinaryContactsStorage;
 import swe.context.storage.ContactsStorage;
+import swe.context.storage.JournaledContactsStorage;
 import swe.context.storage.JsonContactsStorage;
 import swe.context.storage.JsonSettingsStorage;
+import swe.context.storage.RecordContactsStorage;
 import swe.context.storage.SettingsStorage;
+import swe.context.storage.ShardedContactsStorage;
 import swe.context.storage.Storage;
 import swe.context.storage.StorageManager;
 import swe.context.ui.Ui;
@@ -60,7 +66,16 @@ public class MainApp extends Application {
         SettingsStorage settingsStorage = new JsonSettingsStorage(config.getSettingsPath());
         ReadOnlySettings settings = this.initSettings(settingsStorage);
 
-        ContactsStorage contactsStorage = new JsonContactsStorage(settings.getContactsPath());
+        ContactsStorage contactsStorage = this.initContactsStorage(settings);
+        // Saving after every command writes before returning, so that failures
+        // are reported by the command that caused them
+        if (settings.getContactsSavePolicy() != ContactsSavePolicy.EVERY_COMMAND) {
+            contactsStorage = new AsyncContactsStorage(
+                contactsStorage,
+                settings.getContactsSavePolicy(),
+                settings.getContactsSaveDebounceMillis()
+            );
+        }
         storage = new StorageManager(contactsStorage, settingsStorage);
 
         model = this.initModel(storage, settings);
@@ -77,6 +92,15 @@ public class MainApp extends Application {
 
     @Override
     public void stop() {
+        try {
+            storage.flushContacts();
+        } catch (IOException e) {
+            logger.severe(String.format(
+                "Failed to save contacts: %s",
+                StringUtil.getDetails(e)
+            ));
+        }
+
         try {
             storage.saveSettings(model.getSettings());
         } catch (IOException e) {
@@ -87,6 +111,61 @@ public class MainApp extends Application {
         }
     }
 
+    /**
+     * Returns the {@link ContactsStorage} for the contacts file the specified
+     * {@link ReadOnlySettings} configure.
+     *
+     * The file's extension selects its format, and whether JSON is gzipped.
+     * JSON is split into shards if configured, else journaled if configured,
+     * else kept with a snapshot and held lazily if configured.
+     */
+    private ContactsStorage initContactsStorage(ReadOnlySettings settings) {
+        Path contactsPath = settings.getContactsPath();
+        if (BinaryContactsStorage.isBinaryPath(contactsPath)) {
+            return new BinaryContactsStorage(
+                contactsPath,
+                settings.getContactsWriteDurability(),
+                settings.isContactsLazyLoadingEnabled()
+            );
+        }
+        if (RecordContactsStorage.isRecordPath(contactsPath)) {
+            return new RecordContactsStorage(
+                contactsPath,
+                settings.getContactsWriteDurability(),
+                settings.getContactsRecordsMaxWastePercent()
+            );
+        }
+
+        if (settings.getContactsShardCount() > 1) {
+            return new ShardedContactsStorage(
+                contactsPath,
+                settings.getContactsShardCount(),
+                settings.isContactsJsonCompact(),
+                settings.getContactsCompressionLevel(),
+                settings.getContactsWriteDurability(),
+                settings.isContactsSnapshotEnabled()
+            );
+        }
+        if (settings.isContactsJournalEnabled()) {
+            return new JournaledContactsStorage(
+                contactsPath,
+                settings.isContactsJsonCompact(),
+                settings.getContactsCompressionLevel(),
+                settings.getContactsWriteDurability(),
+                settings.getContactsJournalSyncPolicy(),
+                settings.getContactsJournalCompactionBytes()
+            );
+        }
+        return new JsonContactsStorage(
+            contactsPath,
+            settings.isContactsJsonCompact(),
+            settings.getContactsCompressionLevel(),
+            settings.getContactsWriteDurability(),
+            settings.isContactsSnapshotEnabled(),
+            settings.isContactsLazyLoadingEnabled()
+        );
+    }
+
     /**
      * Returns a {@code Config} using the file at {@code configFilePath}. <br>
      * The default file path {@code Config#DEFAULT_CONFIG_FILE} will be used instead
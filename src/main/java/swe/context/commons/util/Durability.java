@@ -0,0 +1,21 @@
+package swe.context.commons.util;
+
+
+
+/**
+ * How far a file write is forced to disk before it is considered complete.
+ *
+ * Every level replaces files atomically, so a crash never leaves one partly
+ * written. Higher levels additionally keep the completed write after a power
+ * failure, at some cost in latency.
+ */
+public enum Durability {
+    /** Leave writing to disk to the operating system. */
+    NONE,
+
+    /** Force the file's contents to disk. */
+    FILE,
+
+    /** Force the file's contents, and its new directory entry, to disk. */
+    FILE_AND_DIRECTORY
+}
@@ -1,11 +1,20 @@
 package swe.context.commons.util;
 
-import java.io.File;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
 import java.nio.file.InvalidPathException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
 
 import swe.context.annotation.Nullable;
 
@@ -16,6 +25,13 @@ import swe.context.annotation.Nullable;
  */
 public class FileUtil {
     private static final String CHARSET = "UTF-8";
+    private static final String TEMPORARY_SUFFIX = ".tmp";
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    // Smaller files are read faster than they are mapped
+    private static final long MIN_MAPPED_SIZE = 1 << 16;
+    // Windows cannot replace a file while it is mapped, and unmaps only on GC
+    private static final boolean CAN_MAP = !System.getProperty("os.name", "").startsWith("Windows");
 
     /**
      * Assumes file exists.
@@ -24,19 +40,129 @@ public class FileUtil {
         return new String(Files.readAllBytes(file), CHARSET);
     }
 
+    /**
+     * Opens the specified existing file for reading.
+     *
+     * Large files are read through a read-only memory mapping, so their bytes
+     * are never copied onto the heap as a whole. Others, and files that cannot
+     * be mapped, are read through a buffered stream.
+     */
+    public static InputStream openForReading(Path path) throws IOException {
+        Optional<ByteBuffer> mapping = FileUtil.map(path);
+        if (mapping.isPresent()) {
+            return new ByteBufferInputStream(mapping.get());
+        }
+        return new BufferedInputStream(Files.newInputStream(path), BUFFER_SIZE);
+    }
+
+    /**
+     * Returns the bytes of the specified existing file.
+     *
+     * As with {@link #openForReading}, large files are returned as a
+     * read-only memory mapping, and others are read onto the heap.
+     */
+    public static ByteBuffer readToBuffer(Path path) throws IOException {
+        Optional<ByteBuffer> mapping = FileUtil.map(path);
+        if (mapping.isPresent()) {
+            return mapping.get();
+        }
+        return ByteBuffer.wrap(Files.readAllBytes(path));
+    }
+
+    /**
+     * Returns a read-only mapping of the whole specified file, or an empty
+     * {@link Optional} if it should or cannot be mapped.
+     *
+     * Files are only ever replaced by renaming, never truncated in place, so
+     * a mapped file does not shrink while it is being read.
+     */
+    private static Optional<ByteBuffer> map(Path path) {
+        if (!CAN_MAP) {
+            return Optional.empty();
+        }
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < MIN_MAPPED_SIZE || size > Integer.MAX_VALUE) {
+                return Optional.empty();
+            }
+            return Optional.of(channel.map(FileChannel.MapMode.READ_ONLY, 0, size));
+        } catch (IOException | UnsupportedOperationException e) {
+            // Left to the caller's fallback, which reports any real read error
+            return Optional.empty();
+        }
+    }
+
     /**
      * Writes the specified string content to the specified file path.
      *
-     * Will create the parent folders/file if they do not exist yet.
+     * Will create the parent folders/file if they do not exist yet. The file
+     * is replaced atomically, as by {@link #writeAtomically}.
      */
     public static void writeToFile(Path path, String content) throws IOException {
-        File file = path.toFile();
-        @Nullable File parentFolder = file.getParentFile();
+        byte[] bytes = content.getBytes(CHARSET);
+        FileUtil.writeAtomically(path, output -> output.write(bytes), Durability.NONE);
+    }
+
+    /**
+     * Writes whatever the specified {@link ContentWriter} writes to the
+     * specified file path, replacing the file only once it is completely
+     * written.
+     *
+     * The content is first written to a temporary file next to the target,
+     * which is then renamed over it, so a crash leaves either the old file or
+     * the new one, never a partly written one.
+     *
+     * Will create the parent folders if they do not exist yet.
+     *
+     * @param durability How far the write is forced to disk before returning.
+     */
+    public static void writeAtomically(Path path, ContentWriter writer, Durability durability) throws IOException {
+        Path absolutePath = path.toAbsolutePath();
+        @Nullable Path parentFolder = absolutePath.getParent();
         if (parentFolder != null) {
-            parentFolder.mkdirs();
+            Files.createDirectories(parentFolder);
         }
 
-        Files.write(path, content.getBytes(CHARSET));
+        Path temporaryPath = absolutePath.resolveSibling(absolutePath.getFileName() + TEMPORARY_SUFFIX);
+        try {
+            try (OutputStream output = new BufferedOutputStream(Files.newOutputStream(temporaryPath), BUFFER_SIZE)) {
+                writer.write(output);
+            }
+            if (durability != Durability.NONE) {
+                FileUtil.force(temporaryPath, StandardOpenOption.WRITE);
+            }
+
+            try {
+                Files.move(
+                    temporaryPath,
+                    absolutePath,
+                    StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE
+                );
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporaryPath, absolutePath, StandardCopyOption.REPLACE_EXISTING);
+            }
+
+            if (durability == Durability.FILE_AND_DIRECTORY && parentFolder != null) {
+                try {
+                    FileUtil.force(parentFolder, StandardOpenOption.READ);
+                } catch (IOException e) {
+                    // Some platforms, like Windows, cannot open folders to force them
+                }
+            }
+        } finally {
+            Files.deleteIfExists(temporaryPath);
+        }
+    }
+
+    /**
+     * Forces the contents of the specified file or folder to disk.
+     */
+    private static void force(Path path, StandardOpenOption mode) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, mode)) {
+            channel.force(true);
+        }
     }
 
     /**
@@ -52,4 +178,59 @@ public class FileUtil {
         }
         return true;
     }
+
+    /**
+     * Writes content to a file, through an {@link OutputStream} it need not
+     * close.
+     */
+    @FunctionalInterface
+    public interface ContentWriter {
+        public void write(OutputStream output) throws IOException;
+    }
+
+    /**
+     * Reads the remaining bytes of a {@link ByteBuffer}, without copying them
+     * anywhere but into each caller's array.
+     */
+    private static class ByteBufferInputStream extends InputStream {
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            if (!this.buffer.hasRemaining()) {
+                return -1;
+            }
+            return this.buffer.get() & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            if (length == 0) {
+                return 0;
+            }
+            if (!this.buffer.hasRemaining()) {
+                return -1;
+            }
+
+            int count = Math.min(length, this.buffer.remaining());
+            this.buffer.get(bytes, offset, count);
+            return count;
+        }
+
+        @Override
+        public long skip(long count) {
+            int skipped = (int) Math.max(0, Math.min(count, this.buffer.remaining()));
+            this.buffer.position(this.buffer.position() + skipped);
+            return skipped;
+        }
+
+        @Override
+        public int available() {
+            return this.buffer.remaining();
+        }
+    }
 }
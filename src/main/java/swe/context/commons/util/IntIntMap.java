@@ -0,0 +1,160 @@
+package swe.context.commons.util;
+
+import java.util.Arrays;
+
+
+
+/**
+ * Hash map from int keys to int values, without boxing.
+ *
+ * Uses open addressing with linear probing, so lookups touch a few adjacent
+ * array slots rather than following entry objects. The one key value that
+ * marks empty slots is held outside the arrays, so every int is a valid key.
+ */
+public class IntIntMap {
+    /** Returned by {@link #get(int)} and {@link #remove(int)} for absent keys. */
+    public static final int ABSENT = -1;
+
+    private static final int EMPTY_KEY = -1;
+    private static final int MIN_CAPACITY = 16;
+
+    private int[] keys;
+    private int[] values;
+    private int size = 0;
+
+    // The entry whose key is EMPTY_KEY, which cannot be held in the arrays
+    private boolean hasEmptyKey = false;
+    private int emptyKeyValue = 0;
+
+    /**
+     * Constructs an empty map.
+     */
+    public IntIntMap() {
+        this.allocate(IntIntMap.MIN_CAPACITY);
+    }
+
+    public int size() {
+        return this.hasEmptyKey ? this.size + 1 : this.size;
+    }
+
+    /**
+     * Returns the value of the specified key, or {@link #ABSENT} if there is
+     * none.
+     */
+    public int get(int key) {
+        if (key == IntIntMap.EMPTY_KEY) {
+            return this.hasEmptyKey ? this.emptyKeyValue : IntIntMap.ABSENT;
+        }
+
+        int index = this.find(key);
+        return this.keys[index] == IntIntMap.EMPTY_KEY ? IntIntMap.ABSENT : this.values[index];
+    }
+
+    /**
+     * Associates the specified value with the specified key, replacing any
+     * previous value.
+     */
+    public void put(int key, int value) {
+        if (key == IntIntMap.EMPTY_KEY) {
+            this.hasEmptyKey = true;
+            this.emptyKeyValue = value;
+            return;
+        }
+
+        int index = this.find(key);
+        if (this.keys[index] == IntIntMap.EMPTY_KEY) {
+            this.keys[index] = key;
+            this.size++;
+            if (this.size * 2 > this.keys.length) {
+                this.values[index] = value;
+                this.rehash(this.keys.length * 2);
+                return;
+            }
+        }
+        this.values[index] = value;
+    }
+
+    /**
+     * Removes the specified key, returning its value, or {@link #ABSENT} if
+     * there was none.
+     */
+    public int remove(int key) {
+        if (key == IntIntMap.EMPTY_KEY) {
+            int value = this.hasEmptyKey ? this.emptyKeyValue : IntIntMap.ABSENT;
+            this.hasEmptyKey = false;
+            return value;
+        }
+
+        int index = this.find(key);
+        if (this.keys[index] == IntIntMap.EMPTY_KEY) {
+            return IntIntMap.ABSENT;
+        }
+        int value = this.values[index];
+
+        // Shift later entries of the probe run back, so no tombstones are needed
+        int mask = this.keys.length - 1;
+        int hole = index;
+        int next = (hole + 1) & mask;
+        while (this.keys[next] != IntIntMap.EMPTY_KEY) {
+            int home = IntIntMap.hash(this.keys[next]) & mask;
+            // Move the entry if its home is not cyclically within (hole, next]
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                this.keys[hole] = this.keys[next];
+                this.values[hole] = this.values[next];
+                hole = next;
+            }
+            next = (next + 1) & mask;
+        }
+        this.keys[hole] = IntIntMap.EMPTY_KEY;
+        this.size--;
+        return value;
+    }
+
+    /**
+     * Removes all keys.
+     */
+    public void clear() {
+        this.allocate(IntIntMap.MIN_CAPACITY);
+        this.size = 0;
+        this.hasEmptyKey = false;
+    }
+
+    /**
+     * Returns the slot holding the specified key, or the empty slot where it
+     * would be inserted.
+     */
+    private int find(int key) {
+        int mask = this.keys.length - 1;
+        int index = IntIntMap.hash(key) & mask;
+        while (this.keys[index] != IntIntMap.EMPTY_KEY && this.keys[index] != key) {
+            index = (index + 1) & mask;
+        }
+        return index;
+    }
+
+    private void rehash(int capacity) {
+        int[] oldKeys = this.keys;
+        int[] oldValues = this.values;
+        this.allocate(capacity);
+
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != IntIntMap.EMPTY_KEY) {
+                int index = this.find(oldKeys[i]);
+                this.keys[index] = oldKeys[i];
+                this.values[index] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        this.keys = new int[capacity];
+        Arrays.fill(this.keys, IntIntMap.EMPTY_KEY);
+        this.values = new int[capacity];
+    }
+
+    private static int hash(int key) {
+        // Sequential keys would otherwise fill runs of adjacent slots
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
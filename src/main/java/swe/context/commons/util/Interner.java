@@ -0,0 +1,49 @@
+package swe.context.commons.util;
+
+import static java.util.Objects.requireNonNull;
+
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+
+
+/**
+ * Pool of canonical instances of an immutable value type.
+ *
+ * {@link #intern(Object)} returns one shared instance for all equal values,
+ * so that many equal values cost the memory of one, and equality checks
+ * between interned values succeed on reference comparison.
+ *
+ * Canonical instances are only weakly held, so values that are no longer
+ * used anywhere else can still be garbage collected. Safe for use by multiple
+ * threads.
+ */
+public class Interner<T> {
+    private final Map<T, WeakReference<T>> pool = new WeakHashMap<>();
+
+    /**
+     * Returns the canonical instance equal to the specified value.
+     *
+     * If there is no such instance yet, the specified value becomes the
+     * canonical instance.
+     */
+    public synchronized T intern(T value) {
+        requireNonNull(value);
+
+        WeakReference<T> reference = this.pool.get(value);
+        T canonical = reference == null ? null : reference.get();
+        if (canonical == null) {
+            canonical = value;
+            this.pool.put(canonical, new WeakReference<>(canonical));
+        }
+        return canonical;
+    }
+
+    /**
+     * Returns the number of canonical instances currently in the pool.
+     */
+    public synchronized int size() {
+        return this.pool.size();
+    }
+}
@@ -3,6 +3,8 @@ package swe.context.commons.util;
 import static java.util.Objects.requireNonNull;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Optional;
@@ -11,10 +13,14 @@ import java.util.logging.Logger;
 
 import com.fasterxml.jackson.annotation.JsonAutoDetect;
 import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.deser.std.FromStringDeserializer;
 import com.fasterxml.jackson.databind.module.SimpleModule;
@@ -39,6 +45,11 @@ public class JsonUtil {
                     .addSerializer(Level.class, new ToStringSerializer())
                     .addDeserializer(Level.class, new LevelDeserializer(Level.class)));
 
+    // Writers are immutable and expensive to configure, so are reused
+    private static final ObjectWriter prettyWriter = objectMapper.writerWithDefaultPrettyPrinter();
+    private static final ObjectWriter valueWriter =
+            objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
     static <T> void serializeToFile(Path jsonFile, T objectToSerialize) throws IOException {
         FileUtil.writeToFile(jsonFile, toJsonString(objectToSerialize));
     }
@@ -101,6 +112,48 @@ public class JsonUtil {
         return objectMapper.readValue(json, instanceClass);
     }
 
+    /**
+     * Returns a parser over the JSON data in the given stream, for reading it piece by piece
+     * rather than all at once
+     * @param input The stream to read, which is closed along with the parser
+     */
+    public static JsonParser createParser(InputStream input) throws IOException {
+        return objectMapper.getFactory().createParser(input);
+    }
+
+    /**
+     * Converts the JSON value at the given parser's current token to an instance of a class,
+     * leaving the parser at the last token of that value
+     * @param <T> The generic type to create an instance of
+     * @return The instance of T with the specified values in the JSON value
+     */
+    public static <T> T fromJsonParser(JsonParser parser, Class<T> instanceClass) throws IOException {
+        return objectMapper.readValue(parser, instanceClass);
+    }
+
+    /**
+     * Returns a generator that writes JSON data to the given stream piece by piece, rather
+     * than building it all as a string first
+     * @param output The stream to write, which is closed along with the generator
+     * @param isPretty Whether to indent the JSON data, as {@link #toJsonString(Object)} does
+     */
+    public static JsonGenerator createGenerator(OutputStream output, boolean isPretty) throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(output, JsonEncoding.UTF8);
+        if (isPretty) {
+            generator.useDefaultPrettyPrinter();
+        }
+        return generator;
+    }
+
+    /**
+     * Writes a given instance of a class as the next JSON value of the given generator,
+     * formatted as the generator is
+     * @param <T> The generic type of the instance
+     */
+    public static <T> void toJsonGenerator(JsonGenerator generator, T instance) throws IOException {
+        valueWriter.writeValue(generator, instance);
+    }
+
     /**
      * Converts a given instance of a class into its JSON data string representation
      * @param instance The T object to be converted into the JSON string
@@ -108,7 +161,18 @@ public class JsonUtil {
      * @return JSON data representation of the given class instance, in string
      */
     public static <T> String toJsonString(T instance) throws JsonProcessingException {
-        return objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(instance);
+        return prettyWriter.writeValueAsString(instance);
+    }
+
+    /**
+     * Converts a given instance of a class into its JSON data string representation,
+     * without any whitespace or line breaks
+     * @param instance The T object to be converted into the JSON string
+     * @param <T> The generic type to create an instance of
+     * @return JSON data representation of the given class instance, in string
+     */
+    public static <T> String toCompactJsonString(T instance) throws JsonProcessingException {
+        return objectMapper.writeValueAsString(instance);
     }
 
     /**
@@ -0,0 +1,97 @@
+package swe.context.commons.util;
+
+import static java.util.Objects.requireNonNull;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+
+
+/**
+ * Compact table of distinct strings, each identified by a small int.
+ *
+ * All strings are stored back to back as UTF-8 in a single byte array, with
+ * an int offset per string, rather than as separate {@link String} objects.
+ * Equal strings are only stored once while the table is still being added to.
+ */
+public class StringTable {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private byte[] bytes = new byte[StringTable.INITIAL_CAPACITY];
+    private int byteCount = 0;
+
+    // String i occupies bytes from offsets[i] up to offsets[i + 1]
+    private int[] offsets = new int[StringTable.INITIAL_CAPACITY + 1];
+    private int size = 0;
+
+    // Only needed while adding, so dropped by trimToSize()
+    private Map<String, Integer> ids = new HashMap<>();
+
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Returns the id of the specified string, adding it first if it is not
+     * yet in the table.
+     *
+     * @throws IllegalStateException If the table has been trimmed.
+     */
+    public int add(String value) {
+        requireNonNull(value);
+        if (this.ids == null) {
+            throw new IllegalStateException("Cannot add to a trimmed table");
+        }
+
+        Integer existing = this.ids.get(value);
+        if (existing != null) {
+            return existing;
+        }
+
+        byte[] encoded = value.getBytes(StandardCharsets.UTF_8);
+        if (this.byteCount + encoded.length > this.bytes.length) {
+            int capacity = Math.max(this.bytes.length * 2, this.byteCount + encoded.length);
+            this.bytes = Arrays.copyOf(this.bytes, capacity);
+        }
+        System.arraycopy(encoded, 0, this.bytes, this.byteCount, encoded.length);
+        this.byteCount += encoded.length;
+
+        if (this.size + 2 > this.offsets.length) {
+            this.offsets = Arrays.copyOf(this.offsets, this.offsets.length * 2);
+        }
+        int id = this.size++;
+        this.offsets[this.size] = this.byteCount;
+        this.ids.put(value, id);
+        return id;
+    }
+
+    /**
+     * Returns a new {@link String} equal to the one with the specified id.
+     *
+     * @throws IndexOutOfBoundsException If there is no such id.
+     */
+    public String get(int id) {
+        int start = this.offsets[Objects.checkIndex(id, this.size)];
+        return new String(this.bytes, start, this.offsets[id + 1] - start, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Returns how many bytes the stored strings and their offsets take up.
+     */
+    public long getByteCount() {
+        return this.bytes.length + (long) this.offsets.length * Integer.BYTES;
+    }
+
+    /**
+     * Releases spare capacity and the lookup used to avoid storing equal
+     * strings twice, after which no more strings can be added.
+     */
+    public void trimToSize() {
+        this.bytes = Arrays.copyOf(this.bytes, this.byteCount);
+        this.offsets = Arrays.copyOf(this.offsets, this.size + 1);
+        this.ids = null;
+    }
+}
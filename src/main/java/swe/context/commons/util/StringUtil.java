@@ -40,6 +40,23 @@ public class StringUtil {
                 .anyMatch(preppedWord::equalsIgnoreCase);
     }
 
+    /**
+     * Returns the case-folded form of the specified string.
+     *
+     * Two strings are equal ignoring case, as determined by
+     * {@link String#equalsIgnoreCase(String)}, exactly when their case-folded
+     * forms are equal. This allows case-insensitive lookups in hash-based
+     * structures.
+     */
+    public static String foldCase(String s) {
+        requireNonNull(s);
+
+        char[] chars = s.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = Character.toLowerCase(Character.toUpperCase(chars[i]));
+        }
+        return new String(chars);
+    }
 
     /**
      * Returns a detailed message of the t, including the stack trace.
@@ -12,6 +12,7 @@ import swe.context.logic.commands.exceptions.CommandException;
 import swe.context.logic.parser.InputParser;
 import swe.context.logic.parser.exceptions.ParseException;
 import swe.context.model.Model;
+import swe.context.model.ReadOnlyContacts;
 import swe.context.model.contact.Contact;
 import swe.context.storage.Storage;
 
@@ -21,9 +22,19 @@ import swe.context.storage.Storage;
  * Implementation of the Logic component.
  */
 public class LogicManager implements Logic {
+    /*
+     * Whatever the model was constructed with may not be in storage yet, so
+     * the first command always saves.
+     */
+    private static final long VERSION_NEVER_SAVED = -1;
+
     private Model model;
     private Storage storage;
 
+    private long savedVersion = LogicManager.VERSION_NEVER_SAVED;
+    private int saveCount = 0;
+    private int skippedSaveCount = 0;
+
     /**
      * Constructs with the specified values.
      */
@@ -59,8 +70,36 @@ public class LogicManager implements Logic {
         Command command = InputParser.parseCommand(commandText);
         CommandResult result = command.execute(model);
 
+        this.saveContactsIfChanged();
+
+        return result;
+    }
+
+    /**
+     * Returns the number of times contacts were saved after a command.
+     */
+    public int getSaveCount() {
+        return this.saveCount;
+    }
+
+    /**
+     * Returns the number of times saving contacts after a command was skipped,
+     * as they had not changed since the last save.
+     */
+    public int getSkippedSaveCount() {
+        return this.skippedSaveCount;
+    }
+
+    private void saveContactsIfChanged() throws CommandException {
+        ReadOnlyContacts contacts = this.model.getContacts();
+        long version = contacts.getVersion();
+        if (version == this.savedVersion) {
+            this.skippedSaveCount++;
+            return;
+        }
+
         try {
-            storage.saveContacts(model.getContacts());
+            storage.saveContacts(contacts);
         } catch (AccessDeniedException e) {
             throw new CommandException(
                 Messages.fileOpsPermissionErrorFormat(e.getMessage()), e);
@@ -69,6 +108,8 @@ public class LogicManager implements Logic {
                 Messages.fileOpsErrorFormat(e.getMessage()), e);
         }
 
-        return result;
+        // Only once saved, so that a failed save is retried after the next command
+        this.savedVersion = version;
+        this.saveCount++;
     }
 }
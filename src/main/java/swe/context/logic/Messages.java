@@ -48,6 +48,10 @@ public final class Messages {
     // JSON
     public static final String CONVERT_CONTACTS_DUPLICATE =
             "Encountered duplicate while converting contacts.";
+    public static final String CONVERT_JOURNAL_RECORD_INVALID =
+            "Encountered invalid record while replaying contacts journal.";
+    public static final String CONVERT_SHARD_MANIFEST_INVALID =
+            "Encountered invalid contacts shard manifest.";
 
     // Exceptions
     public static final String DUPLICATE_CONTACT_EXCEPTION =
@@ -43,7 +43,7 @@ public class DeleteCommand extends Command {
         validateIndices(currentContactList);
 
         List<Contact> contactsToDelete = collectContactsToDelete(currentContactList);
-        contactsToDelete.forEach(model::removeContact);
+        model.removeContacts(contactsToDelete);
 
         String formattedContacts = formatContactsForMessage(contactsToDelete);
         return new CommandResult(Messages.deleteCommandSuccess(formattedContacts));
@@ -2,6 +2,8 @@ package swe.context.logic.commands;
 
 import static java.util.Objects.requireNonNull;
 
+import java.util.Set;
+
 import swe.context.commons.util.ToStringBuilder;
 import swe.context.logic.Messages;
 import swe.context.model.Model;
@@ -32,7 +34,12 @@ public class FilterCommand extends Command {
     @Override
     public CommandResult execute(Model model) {
         requireNonNull(model);
-        model.setContactsFilter(predicate);
+
+        // Resolve matches through the model's tag index, leaving the filter
+        // with only a membership check to perform
+        Set<Contact> matches = model.findContactsByTag(predicate.getKeyword());
+        model.setContactsFilter(matches::contains);
+
         return new CommandResult(
                 Messages.contactsListedOverview(model.getFilteredContactList().size()));
     }
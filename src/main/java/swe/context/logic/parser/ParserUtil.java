@@ -112,7 +112,7 @@ public class ParserUtil {
             );
         }
 
-        return new Tag(trimmed);
+        return Tag.of(trimmed);
     }
 
     /**
@@ -131,7 +131,7 @@ public class ParserUtil {
             );
         }
 
-        return new AlternateContact(trimmed);
+        return AlternateContact.of(trimmed);
     }
 
     /**
@@ -0,0 +1,143 @@
+package swe.context.model;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+import swe.context.commons.util.StringTable;
+import swe.context.commons.util.ToStringBuilder;
+import swe.context.model.alternate.AlternateContact;
+import swe.context.model.contact.Contact;
+import swe.context.model.contact.Email;
+import swe.context.model.contact.LazyContact;
+import swe.context.model.contact.Name;
+import swe.context.model.contact.Note;
+import swe.context.model.contact.Phone;
+import swe.context.model.tag.Tag;
+
+
+
+/**
+ * Immutable fields of {@link Contact}s other than their names, stored column
+ * by column, for address books too large to comfortably keep as
+ * {@link Contact} object graphs.
+ *
+ * Every field value is an int id into one shared {@link StringTable}. Tags and
+ * alternates of all {@link Contact}s are flattened into single id arrays,
+ * with an offset array marking where each {@link Contact}'s run starts.
+ *
+ * {@link LazyContact}s hold their own names, and load the rest from here by
+ * index, which materializes a new {@link Contact} each time.
+ */
+public class ColumnarContacts implements LazyContact.Source {
+    private final int size;
+    private final StringTable strings = new StringTable();
+
+    private final int[] phoneIds;
+    private final int[] emailIds;
+    private final int[] noteIds;
+
+    // Contact i's tag ids occupy tagIds from tagOffsets[i] up to tagOffsets[i + 1]
+    private final int[] tagOffsets;
+    private final int[] tagIds;
+    private final int[] alternateOffsets;
+    private final int[] alternateIds;
+
+    /**
+     * Constructs by storing the fields of the specified {@link Contact}s, each
+     * at its index in the list.
+     */
+    public ColumnarContacts(List<Contact> contacts) {
+        requireNonNull(contacts);
+
+        this.size = contacts.size();
+        this.phoneIds = new int[this.size];
+        this.emailIds = new int[this.size];
+        this.noteIds = new int[this.size];
+        this.tagOffsets = new int[this.size + 1];
+        this.alternateOffsets = new int[this.size + 1];
+
+        int tagCount = 0;
+        int alternateCount = 0;
+        for (Contact contact : contacts) {
+            tagCount += contact.getTags().size();
+            alternateCount += contact.getAlternates().size();
+        }
+        this.tagIds = new int[tagCount];
+        this.alternateIds = new int[alternateCount];
+
+        int tagIndex = 0;
+        int alternateIndex = 0;
+        for (int i = 0; i < this.size; i++) {
+            Contact contact = contacts.get(i);
+            this.phoneIds[i] = this.strings.add(contact.getPhone().value);
+            this.emailIds[i] = this.strings.add(contact.getEmail().value);
+            this.noteIds[i] = this.strings.add(contact.getNote().value);
+
+            for (Tag tag : contact.getTags()) {
+                this.tagIds[tagIndex++] = this.strings.add(tag.value);
+            }
+            this.tagOffsets[i + 1] = tagIndex;
+            for (AlternateContact alternate : contact.getAlternates()) {
+                this.alternateIds[alternateIndex++] = this.strings.add(alternate.value);
+            }
+            this.alternateOffsets[i + 1] = alternateIndex;
+        }
+        this.strings.trimToSize();
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Returns how many bytes the stored fields take up, for comparing with
+     * holding them as {@link Contact}s.
+     */
+    public long getByteCount() {
+        long idCount = 3L * this.size
+                + this.tagOffsets.length + this.tagIds.length
+                + this.alternateOffsets.length + this.alternateIds.length;
+        return this.strings.getByteCount() + idCount * Integer.BYTES;
+    }
+
+    /**
+     * Returns a {@link Contact} with the specified name, and the other fields
+     * stored at the specified index.
+     *
+     * @throws IndexOutOfBoundsException If the index is out of range.
+     */
+    @Override
+    public Contact load(Name name, int index) {
+        Objects.checkIndex(index, this.size);
+
+        Set<Tag> tags = new HashSet<>();
+        for (int i = this.tagOffsets[index]; i < this.tagOffsets[index + 1]; i++) {
+            tags.add(Tag.of(this.strings.get(this.tagIds[i])));
+        }
+        Set<AlternateContact> alternates = new HashSet<>();
+        for (int i = this.alternateOffsets[index]; i < this.alternateOffsets[index + 1]; i++) {
+            alternates.add(AlternateContact.of(this.strings.get(this.alternateIds[i])));
+        }
+
+        return new Contact(
+            name,
+            new Phone(this.strings.get(this.phoneIds[index])),
+            new Email(this.strings.get(this.emailIds[index])),
+            new Note(this.strings.get(this.noteIds[index])),
+            tags,
+            alternates
+        );
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this)
+                .add("size", this.size)
+                .add("distinctStrings", this.strings.size())
+                .toString();
+    }
+}
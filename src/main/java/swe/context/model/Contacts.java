@@ -1,11 +1,18 @@
 package swe.context.model;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import javafx.collections.ObservableList;
+import swe.context.annotation.Nullable;
 import swe.context.commons.util.ToStringBuilder;
 import swe.context.model.contact.Contact;
+import swe.context.model.contact.NameWordIndex;
 import swe.context.model.contact.UniqueContactList;
+import swe.context.model.tag.TagIndex;
 
 /**
  * Mutable {@link Contact}s, both readable and writable.
@@ -16,15 +23,22 @@ import swe.context.model.contact.UniqueContactList;
 public class Contacts implements ReadOnlyContacts {
     private UniqueContactList uniqueList = new UniqueContactList();
 
+    private final NameWordIndex nameWordIndex = new NameWordIndex();
+    // Built when first queried, as indexing reads every contact's tags
+    private @Nullable TagIndex tagIndex = null;
+
     /**
      * Constructs with no {@link Contact}s.
      */
-    public Contacts() {}
+    public Contacts() {
+        this.uniqueList.asUnmodifiableObservableList().addListener(this.nameWordIndex);
+    }
 
     /**
      * Constructs a shallow clone of the specified {@link ReadOnlyContacts}.
      */
     public Contacts(ReadOnlyContacts contacts) {
+        this();
         this.uniqueList.setContacts(
             contacts.getUnmodifiableList()
         );
@@ -35,6 +49,11 @@ public class Contacts implements ReadOnlyContacts {
         return this.uniqueList.asUnmodifiableObservableList();
     }
 
+    @Override
+    public long getVersion() {
+        return this.uniqueList.getVersion();
+    }
+
     @Override
     public String toString() {
         return new ToStringBuilder(this)
@@ -72,6 +91,16 @@ public class Contacts implements ReadOnlyContacts {
         this.uniqueList.add(contact);
     }
 
+    /**
+     * Adds all of the specified {@link Contact}s in a single operation.
+     *
+     * None of the {@link Contact}s may already exist as determined by
+     * {@link #contains(Contact)}, nor be the same as each other.
+     */
+    public void addAll(Collection<Contact> contacts) {
+        this.uniqueList.addAll(contacts);
+    }
+
     /**
      * Returns whether there already exists a {@link Contact} that is the same
      * as the specified one.
@@ -80,6 +109,34 @@ public class Contacts implements ReadOnlyContacts {
         return this.uniqueList.contains(contact);
     }
 
+    /**
+     * Returns the {@link Contact}s whose names contain any of the specified
+     * keywords as a full word, ignoring case.
+     *
+     * The returned {@link Set} compares {@link Contact}s by identity.
+     */
+    public Set<Contact> findByName(Collection<String> keywords) {
+        return this.nameWordIndex.findAny(keywords);
+    }
+
+    /**
+     * Returns the {@link Contact}s that have a tag matching the specified value
+     * in full, ignoring case.
+     *
+     * The returned {@link Set} compares {@link Contact}s by identity.
+     */
+    public Set<Contact> findByTag(String tagValue) {
+        return this.getTagIndex().find(tagValue);
+    }
+
+    /**
+     * Returns the number of {@link Contact}s that have a tag matching the
+     * specified value in full, ignoring case.
+     */
+    public int countWithTag(String tagValue) {
+        return this.getTagIndex().count(tagValue);
+    }
+
     /**
      * Replaces the old {@link Contact} with the new one.
      *
@@ -93,6 +150,19 @@ public class Contacts implements ReadOnlyContacts {
         this.uniqueList.setContact(old, updated);
     }
 
+    /**
+     * Replaces each old {@link Contact} with its new one in a single operation.
+     *
+     * The new {@link Contact}s must be unique as determined by
+     * {@link #contains(Contact)}, other than against the old ones being
+     * replaced.
+     *
+     * @param updates The new contacts, keyed by the old contacts they replace.
+     */
+    public void updateAll(Map<Contact, Contact> updates) {
+        this.uniqueList.replaceAll(updates);
+    }
+
     /**
      * Removes the specified {@link Contact}.
      */
@@ -100,10 +170,40 @@ public class Contacts implements ReadOnlyContacts {
         this.uniqueList.remove(contact);
     }
 
+    /**
+     * Replaces all {@link Contact}s with the specified ones in a single
+     * operation.
+     *
+     * The specified {@link Contact}s must be unique as determined by
+     * {@link #contains(Contact)}.
+     */
+    public void setContacts(List<Contact> contacts) {
+        this.uniqueList.setContacts(contacts);
+    }
+
     /**
      * Removes all {@link Contact}s.
      */
     public void removeAll() {
         this.uniqueList.setContacts(new ArrayList<>());
     }
+
+    /**
+     * Removes all of the specified {@link Contact}s in a single operation.
+     */
+    public void removeAll(Collection<Contact> contacts) {
+        this.uniqueList.removeAll(contacts);
+    }
+
+    private TagIndex getTagIndex() {
+        if (this.tagIndex == null) {
+            TagIndex index = new TagIndex();
+            for (Contact contact : this.getUnmodifiableList()) {
+                index.add(contact);
+            }
+            this.getUnmodifiableList().addListener(index);
+            this.tagIndex = index;
+        }
+        return this.tagIndex;
+    }
 }
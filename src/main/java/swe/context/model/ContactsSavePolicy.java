@@ -0,0 +1,17 @@
+package swe.context.model;
+
+
+
+/**
+ * When changed contacts are written to storage.
+ */
+public enum ContactsSavePolicy {
+    /** Write as soon as possible after every command that changes contacts. */
+    EVERY_COMMAND,
+
+    /** Write once no command has changed contacts for the debounce window. */
+    DEBOUNCE,
+
+    /** Only write when the app exits. */
+    ON_EXIT
+}
@@ -0,0 +1,14 @@
+package swe.context.model;
+
+
+
+/**
+ * When records appended to the contacts journal are forced to disk.
+ */
+public enum JournalSyncPolicy {
+    /** Force every save to disk before it completes, so none are lost on power failure. */
+    EVERY_SAVE,
+
+    /** Leave writing to disk to the operating system, which is faster but may lose recent saves on power failure. */
+    NEVER
+}
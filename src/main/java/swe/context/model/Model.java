@@ -1,5 +1,8 @@
 package swe.context.model;
 
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.function.Predicate;
 
 import javafx.collections.ObservableList;
@@ -20,6 +23,48 @@ public interface Model {
     public void removeContact(Contact contact);
     public void removeAllContacts();
 
+    /**
+     * Adds all of the specified {@link Contact}s, notifying listeners once.
+     *
+     * Like {@link #addContact(Contact)}, also resets the contacts filter, so
+     * that the added {@link Contact}s are shown.
+     */
+    public void addContacts(List<Contact> contacts);
+
+    /**
+     * Replaces each old {@link Contact} with its new one, notifying listeners
+     * once.
+     *
+     * Like {@link #updateContact(Contact, Contact)}, keeps the contacts
+     * filter.
+     *
+     * @param updates The new contacts, keyed by the old contacts they replace.
+     */
+    public void updateContacts(Map<Contact, Contact> updates);
+
+    /**
+     * Removes all of the specified {@link Contact}s, notifying listeners once.
+     *
+     * Like {@link #removeContact(Contact)}, keeps the contacts filter.
+     */
+    public void removeContacts(List<Contact> contacts);
+
+    /**
+     * Returns the {@link Contact}s whose names contain any of the specified
+     * keywords as a full word, ignoring case.
+     *
+     * The returned {@link Set} compares {@link Contact}s by identity.
+     */
+    public Set<Contact> findContactsByName(List<String> keywords);
+
+    /**
+     * Returns the {@link Contact}s that have a tag matching the specified
+     * value in full, ignoring case.
+     *
+     * The returned {@link Set} compares {@link Contact}s by identity.
+     */
+    public Set<Contact> findContactsByTag(String tagValue);
+
     public Settings getSettings();
 
     public GuiSettings getGuiSettings();
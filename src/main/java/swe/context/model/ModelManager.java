@@ -1,13 +1,15 @@
 package swe.context.model;
 
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.function.Predicate;
 
 import javafx.collections.ObservableList;
-import javafx.collections.transformation.FilteredList;
-import javafx.collections.transformation.SortedList;
 import swe.context.commons.core.GuiSettings;
 import swe.context.model.contact.Contact;
 import swe.context.model.util.AlphabeticalComparator;
+import swe.context.model.util.SortedFilteredList;
 
 
 
@@ -24,7 +26,7 @@ public class ModelManager implements Model {
     private final Contacts contacts;
     private final Settings settings;
 
-    private final FilteredList<Contact> filteredContacts;
+    private final SortedFilteredList<Contact> filteredContacts;
 
     /**
      * Constructs with default values.
@@ -40,12 +42,10 @@ public class ModelManager implements Model {
         this.contacts = new Contacts(contacts);
         this.settings = new Settings(settings);
 
-        ObservableList<Contact> unmodifiableList = this.contacts.getUnmodifiableList();
-        SortedList<Contact> sortedList = new SortedList<>(
-            unmodifiableList,
+        this.filteredContacts = new SortedFilteredList<>(
+            this.contacts.getUnmodifiableList(),
             new AlphabeticalComparator()
         );
-        this.filteredContacts = new FilteredList<>(sortedList);
     }
 
     @Override
@@ -85,6 +85,38 @@ public class ModelManager implements Model {
         this.contacts.removeAll();
     }
 
+    /**
+     * Adds all of the specified {@link Contact}s.
+     *
+     * Also resets the contacts filter.
+     */
+    @Override
+    public void addContacts(List<Contact> contacts) {
+        this.contacts.addAll(contacts);
+
+        this.setContactsFilter(ModelManager.FILTER_NONE);
+    }
+
+    @Override
+    public void updateContacts(Map<Contact, Contact> updates) {
+        this.contacts.updateAll(updates);
+    }
+
+    @Override
+    public void removeContacts(List<Contact> contacts) {
+        this.contacts.removeAll(contacts);
+    }
+
+    @Override
+    public Set<Contact> findContactsByName(List<String> keywords) {
+        return this.contacts.findByName(keywords);
+    }
+
+    @Override
+    public Set<Contact> findContactsByTag(String tagValue) {
+        return this.contacts.findByTag(tagValue);
+    }
+
     @Override
     public Settings getSettings() {
         return this.settings;
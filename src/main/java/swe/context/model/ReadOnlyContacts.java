@@ -13,4 +13,12 @@ public interface ReadOnlyContacts {
      * Returns an unmodifiable {@link ObservableList} of all {@link Contact}s.
      */
     public ObservableList<Contact> getUnmodifiableList();
+
+    /**
+     * Returns a number that changes whenever the {@link Contact}s change.
+     *
+     * If two calls on the same instance return the same version, the
+     * {@link Contact}s did not change in between.
+     */
+    public long getVersion();
 }
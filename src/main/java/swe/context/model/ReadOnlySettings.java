@@ -3,6 +3,7 @@ package swe.context.model;
 import java.nio.file.Path;
 
 import swe.context.commons.core.GuiSettings;
+import swe.context.commons.util.Durability;
 
 
 
@@ -12,5 +13,85 @@ import swe.context.commons.core.GuiSettings;
 public interface ReadOnlySettings {
     public Path getContactsPath();
 
+    /**
+     * Returns whether the contacts file is written without indentation and
+     * line breaks, which is smaller and faster but harder to edit by hand.
+     */
+    public boolean isContactsJsonCompact();
+
+    /**
+     * Returns how far writes of the whole contacts file are forced to disk.
+     */
+    public Durability getContactsWriteDurability();
+
+    /**
+     * Returns how hard to compress the contacts file, from 0 (fastest) to 9
+     * (smallest), when its name ends in ".gz".
+     *
+     * Saves after every command wait for the write, so the default is 1.
+     */
+    public int getContactsCompressionLevel();
+
+    /**
+     * Returns whether a validated snapshot of the contacts JSON file is kept,
+     * and read at startup instead while the file is unchanged.
+     *
+     * The snapshot is taken of the last save when the app exits, so saves do
+     * not pay for it.
+     */
+    public boolean isContactsSnapshotEnabled();
+
+    /**
+     * Returns whether a ".bin" contacts file is read a name at a time, with
+     * each contact's other fields only loaded from the file when needed.
+     *
+     * A plain JSON contacts file is still read in full, but its contacts'
+     * other fields are then held compactly as columns, and only made into
+     * objects when needed.
+     */
+    public boolean isContactsLazyLoadingEnabled();
+
     public GuiSettings getGuiSettings();
+
+    public ContactsSavePolicy getContactsSavePolicy();
+
+    /**
+     * Returns how long to wait for further changes before writing contacts,
+     * under {@link ContactsSavePolicy#DEBOUNCE}.
+     */
+    public long getContactsSaveDebounceMillis();
+
+    /**
+     * Returns whether contact changes are appended to a journal rather than
+     * rewriting the whole contacts file.
+     *
+     * When turned off, any journal left behind is compacted into the file
+     * when contacts are next read.
+     */
+    public boolean isContactsJournalEnabled();
+
+    public JournalSyncPolicy getContactsJournalSyncPolicy();
+
+    /**
+     * Returns the journal size, in bytes, past which it is compacted into the
+     * contacts file.
+     */
+    public long getContactsJournalCompactionBytes();
+
+    /**
+     * Returns how many shard files contacts are split into, so that saving
+     * rewrites only the shards that changed. At most 1 keeps a single file.
+     *
+     * Contacts are read from the single file until first saved as shards.
+     * Setting this back to at most 1 merges the shards into the single file
+     * when contacts are next read.
+     */
+    public int getContactsShardCount();
+
+    /**
+     * Returns the percentage of a ".records" contacts file that may be slack
+     * space and deleted records before it is rewritten whole, rather than
+     * patched in place.
+     */
+    public int getContactsRecordsMaxWastePercent();
 }
@@ -5,6 +5,7 @@ import java.nio.file.Paths;
 import java.util.Objects;
 
 import swe.context.commons.core.GuiSettings;
+import swe.context.commons.util.Durability;
 import swe.context.commons.util.ToStringBuilder;
 
 
@@ -14,9 +15,25 @@ import swe.context.commons.util.ToStringBuilder;
  */
 public class Settings implements ReadOnlySettings {
     private Path contactsPath = Paths.get("data" , "contacts.json");
+    private boolean contactsJsonCompact = false;
+    private Durability contactsWriteDurability = Durability.FILE;
+    private int contactsCompressionLevel = 1;
+    private boolean contactsSnapshotEnabled = true;
+    private boolean contactsLazyLoadingEnabled = false;
 
     private GuiSettings guiSettings = new GuiSettings();
 
+    private ContactsSavePolicy contactsSavePolicy = ContactsSavePolicy.EVERY_COMMAND;
+    private long contactsSaveDebounceMillis = 1000;
+
+    private boolean contactsJournalEnabled = false;
+    private JournalSyncPolicy contactsJournalSyncPolicy = JournalSyncPolicy.EVERY_SAVE;
+    private long contactsJournalCompactionBytes = 1 << 20;
+
+    private int contactsShardCount = 1;
+
+    private int contactsRecordsMaxWastePercent = 50;
+
     /**
      * Constructs with default values.
      */
@@ -27,8 +44,24 @@ public class Settings implements ReadOnlySettings {
      */
     public Settings(ReadOnlySettings settings) {
         this.setContactsPath(settings.getContactsPath());
+        this.setContactsJsonCompact(settings.isContactsJsonCompact());
+        this.setContactsWriteDurability(settings.getContactsWriteDurability());
+        this.setContactsCompressionLevel(settings.getContactsCompressionLevel());
+        this.setContactsSnapshotEnabled(settings.isContactsSnapshotEnabled());
+        this.setContactsLazyLoadingEnabled(settings.isContactsLazyLoadingEnabled());
 
         this.setGuiSettings(settings.getGuiSettings());
+
+        this.setContactsSavePolicy(settings.getContactsSavePolicy());
+        this.setContactsSaveDebounceMillis(settings.getContactsSaveDebounceMillis());
+
+        this.setContactsJournalEnabled(settings.isContactsJournalEnabled());
+        this.setContactsJournalSyncPolicy(settings.getContactsJournalSyncPolicy());
+        this.setContactsJournalCompactionBytes(settings.getContactsJournalCompactionBytes());
+
+        this.setContactsShardCount(settings.getContactsShardCount());
+
+        this.setContactsRecordsMaxWastePercent(settings.getContactsRecordsMaxWastePercent());
     }
 
     @Override
@@ -36,16 +69,88 @@ public class Settings implements ReadOnlySettings {
         return this.contactsPath;
     }
 
+    @Override
+    public boolean isContactsJsonCompact() {
+        return this.contactsJsonCompact;
+    }
+
+    @Override
+    public Durability getContactsWriteDurability() {
+        return this.contactsWriteDurability;
+    }
+
+    @Override
+    public int getContactsCompressionLevel() {
+        return this.contactsCompressionLevel;
+    }
+
+    @Override
+    public boolean isContactsSnapshotEnabled() {
+        return this.contactsSnapshotEnabled;
+    }
+
+    @Override
+    public boolean isContactsLazyLoadingEnabled() {
+        return this.contactsLazyLoadingEnabled;
+    }
+
     @Override
     public GuiSettings getGuiSettings() {
         return this.guiSettings;
     }
 
+    @Override
+    public ContactsSavePolicy getContactsSavePolicy() {
+        return this.contactsSavePolicy;
+    }
+
+    @Override
+    public long getContactsSaveDebounceMillis() {
+        return this.contactsSaveDebounceMillis;
+    }
+
+    @Override
+    public boolean isContactsJournalEnabled() {
+        return this.contactsJournalEnabled;
+    }
+
+    @Override
+    public JournalSyncPolicy getContactsJournalSyncPolicy() {
+        return this.contactsJournalSyncPolicy;
+    }
+
+    @Override
+    public long getContactsJournalCompactionBytes() {
+        return this.contactsJournalCompactionBytes;
+    }
+
+    @Override
+    public int getContactsShardCount() {
+        return this.contactsShardCount;
+    }
+
+    @Override
+    public int getContactsRecordsMaxWastePercent() {
+        return this.contactsRecordsMaxWastePercent;
+    }
+
     @Override
     public String toString() {
         return new ToStringBuilder(this)
                 .add("contactsPath", this.contactsPath)
+                .add("contactsJsonCompact", this.contactsJsonCompact)
+                .add("contactsWriteDurability", this.contactsWriteDurability)
+                .add("contactsCompressionLevel", this.contactsCompressionLevel)
+                .add("contactsSnapshotEnabled", this.contactsSnapshotEnabled)
+                .add("contactsLazyLoadingEnabled", this.contactsLazyLoadingEnabled)
                 .add("guiSettings", this.guiSettings)
+                .add("contactsSavePolicy", this.contactsSavePolicy)
+                .add("contactsSaveDebounceMillis", this.contactsSaveDebounceMillis)
+                .add("contactsJournalEnabled", this.contactsJournalEnabled)
+                .add("contactsJournalSyncPolicy", this.contactsJournalSyncPolicy)
+                .add("contactsJournalCompactionBytes", this.contactsJournalCompactionBytes)
+                .add("contactsShardCount", this.contactsShardCount)
+                .add("contactsRecordsMaxWastePercent", this.contactsRecordsMaxWastePercent)
                 .toString();
     }
 
@@ -62,19 +167,94 @@ public class Settings implements ReadOnlySettings {
         Settings otherSettings = (Settings) other;
 
         return this.contactsPath.equals(otherSettings.contactsPath)
-                && this.guiSettings.equals(otherSettings.guiSettings);
+                && this.contactsJsonCompact == otherSettings.contactsJsonCompact
+                && this.contactsWriteDurability == otherSettings.contactsWriteDurability
+                && this.contactsCompressionLevel == otherSettings.contactsCompressionLevel
+                && this.contactsSnapshotEnabled == otherSettings.contactsSnapshotEnabled
+                && this.contactsLazyLoadingEnabled == otherSettings.contactsLazyLoadingEnabled
+                && this.guiSettings.equals(otherSettings.guiSettings)
+                && this.contactsSavePolicy == otherSettings.contactsSavePolicy
+                && this.contactsSaveDebounceMillis == otherSettings.contactsSaveDebounceMillis
+                && this.contactsJournalEnabled == otherSettings.contactsJournalEnabled
+                && this.contactsJournalSyncPolicy == otherSettings.contactsJournalSyncPolicy
+                && this.contactsJournalCompactionBytes == otherSettings.contactsJournalCompactionBytes
+                && this.contactsShardCount == otherSettings.contactsShardCount
+                && this.contactsRecordsMaxWastePercent == otherSettings.contactsRecordsMaxWastePercent;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(contactsPath, guiSettings);
+        return Objects.hash(
+            contactsPath,
+            contactsJsonCompact,
+            contactsWriteDurability,
+            contactsCompressionLevel,
+            contactsSnapshotEnabled,
+            contactsLazyLoadingEnabled,
+            guiSettings,
+            contactsSavePolicy,
+            contactsSaveDebounceMillis,
+            contactsJournalEnabled,
+            contactsJournalSyncPolicy,
+            contactsJournalCompactionBytes,
+            contactsShardCount,
+            contactsRecordsMaxWastePercent
+        );
     }
 
     public void setContactsPath(Path newPath) {
         this.contactsPath = newPath;
     }
 
+    public void setContactsJsonCompact(boolean newCompact) {
+        this.contactsJsonCompact = newCompact;
+    }
+
+    public void setContactsWriteDurability(Durability newDurability) {
+        this.contactsWriteDurability = newDurability;
+    }
+
+    public void setContactsCompressionLevel(int newCompressionLevel) {
+        this.contactsCompressionLevel = newCompressionLevel;
+    }
+
+    public void setContactsSnapshotEnabled(boolean newEnabled) {
+        this.contactsSnapshotEnabled = newEnabled;
+    }
+
+    public void setContactsLazyLoadingEnabled(boolean newEnabled) {
+        this.contactsLazyLoadingEnabled = newEnabled;
+    }
+
     public void setGuiSettings(GuiSettings newGuiSettings) {
         this.guiSettings = newGuiSettings;
     }
+
+    public void setContactsSavePolicy(ContactsSavePolicy newPolicy) {
+        this.contactsSavePolicy = newPolicy;
+    }
+
+    public void setContactsSaveDebounceMillis(long newDebounceMillis) {
+        this.contactsSaveDebounceMillis = newDebounceMillis;
+    }
+
+    public void setContactsJournalEnabled(boolean newEnabled) {
+        this.contactsJournalEnabled = newEnabled;
+    }
+
+    public void setContactsJournalSyncPolicy(JournalSyncPolicy newPolicy) {
+        this.contactsJournalSyncPolicy = newPolicy;
+    }
+
+    public void setContactsJournalCompactionBytes(long newCompactionBytes) {
+        this.contactsJournalCompactionBytes = newCompactionBytes;
+    }
+
+    public void setContactsShardCount(int newShardCount) {
+        this.contactsShardCount = newShardCount;
+    }
+
+    public void setContactsRecordsMaxWastePercent(int newMaxWastePercent) {
+        this.contactsRecordsMaxWastePercent = newMaxWastePercent;
+    }
 }
@@ -1,5 +1,6 @@
 package swe.context.model.alternate;
 
+import swe.context.commons.util.Interner;
 import swe.context.model.contact.Contact;
 
 
@@ -8,6 +9,9 @@ import swe.context.model.contact.Contact;
  *
  * Constructor arguments must be valid as determined by
  * {@link #isValid(String)}.
+ *
+ * Equal instances are interchangeable, so {@link #of(String)} should be
+ * preferred over the constructor to share one canonical instance per value.
  */
 public final class AlternateContact {
     /*
@@ -16,6 +20,8 @@ public final class AlternateContact {
     public static final String REGEX_VALID =
             "^[a-zA-Z\\d]+: [a-zA-Z\\d._-]+$";
 
+    private static final Interner<AlternateContact> INTERNER = new Interner<>();
+
     public final String value;
 
     /**
@@ -27,6 +33,15 @@ public final class AlternateContact {
         return value.matches(REGEX_VALID);
     }
 
+    /**
+     * Returns the canonical instance for the specified value.
+     *
+     * Arguments must be valid as determined by {@link #isValid(String)}.
+     */
+    public static AlternateContact of(String value) {
+        return AlternateContact.INTERNER.intern(new AlternateContact(value));
+    }
+
     /**
      * Constructs with the specified value.
      *
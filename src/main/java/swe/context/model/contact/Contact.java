@@ -6,8 +6,10 @@ import java.util.Collections;
 import java.util.HashSet;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
+import swe.context.commons.util.Interner;
 import swe.context.commons.util.ToStringBuilder;
 import swe.context.model.alternate.AlternateContact;
 import swe.context.model.tag.Tag;
@@ -19,6 +21,22 @@ import swe.context.model.tag.Tag;
  * Guarantees that all details are present and validated.
  */
 public class Contact {
+    /*
+     * Many contacts share the exact same tags or alternates, so their
+     * unmodifiable sets are interned too.
+     */
+    private static final Interner<Set<Tag>> TAG_SETS = new Interner<>();
+    private static final Interner<Set<AlternateContact>> ALTERNATE_SETS = new Interner<>();
+
+    private static final AtomicInteger NEXT_ID = new AtomicInteger();
+
+    /*
+     * Unique to this instance for the session. Not part of equality, as equal
+     * contacts may be different instances. Wraps around to negative values
+     * after 2^31 contacts, and only repeats after 2^32.
+     */
+    private final int id = Contact.NEXT_ID.getAndIncrement();
+
     // Identity fields
     private Name name;
     private Phone phone;
@@ -26,8 +44,8 @@ public class Contact {
 
     // Data fields
     private Note note;
-    private Set<Tag> tags = new HashSet<>();
-    private Set<AlternateContact> alternates = new HashSet<>();
+    private Set<Tag> tags;
+    private Set<AlternateContact> alternates;
 
     /**
      * Constructs a Contact.
@@ -46,8 +64,33 @@ public class Contact {
         this.phone = _phone;
         this.email = _email;
         this.note = _note;
-        this.tags.addAll(_tags);
-        this.alternates.addAll(_alternates);
+        this.tags = Contact.TAG_SETS.intern(
+            Collections.unmodifiableSet(new HashSet<>(_tags))
+        );
+        this.alternates = Contact.ALTERNATE_SETS.intern(
+            Collections.unmodifiableSet(new HashSet<>(_alternates))
+        );
+    }
+
+    /**
+     * Constructs a Contact with only a name, for subclasses that supply every
+     * other field by overriding its getter.
+     */
+    protected Contact(Name _name) {
+        requireAllNonNull(_name);
+
+        this.name = _name;
+    }
+
+    /**
+     * Returns the identifier of this instance, which no other {@link Contact}
+     * constructed in the same session shares.
+     *
+     * Lets indexes and caches refer to a specific instance by a primitive key,
+     * rather than by comparing fields.
+     */
+    public int getId() {
+        return this.id;
     }
 
     public Name getName() {
@@ -71,11 +114,15 @@ public class Contact {
      * if modification is attempted.
      */
     public Set<Tag> getTags() {
-        return Collections.unmodifiableSet(tags);
+        return this.tags;
     }
 
+    /**
+     * Returns an unmodifiable alternate contact set, which throws
+     * {@code UnsupportedOperationException} if modification is attempted.
+     */
     public Set<AlternateContact> getAlternates() {
-        return Collections.unmodifiableSet(alternates);
+        return this.alternates;
     }
 
     /**
@@ -136,30 +183,38 @@ public class Contact {
             return false;
         }
 
+        // Through getters, as subclasses may supply fields lazily
         Contact otherContact = (Contact) other;
-        return name.equals(otherContact.name)
-                && phone.equals(otherContact.phone)
-                && email.equals(otherContact.email)
-                && note.equals(otherContact.note)
-                && tags.equals(otherContact.tags)
-                && alternates.equals(otherContact.alternates);
+        return this.getName().equals(otherContact.getName())
+                && this.getPhone().equals(otherContact.getPhone())
+                && this.getEmail().equals(otherContact.getEmail())
+                && this.getNote().equals(otherContact.getNote())
+                && this.getTags().equals(otherContact.getTags())
+                && this.getAlternates().equals(otherContact.getAlternates());
     }
 
     @Override
     public int hashCode() {
         // use this method for custom fields hashing instead of implementing your own
-        return Objects.hash(name, phone, email, note, tags, alternates);
+        return Objects.hash(
+            this.getName(),
+            this.getPhone(),
+            this.getEmail(),
+            this.getNote(),
+            this.getTags(),
+            this.getAlternates()
+        );
     }
 
     @Override
     public String toString() {
         return new ToStringBuilder(this)
-                .add("name", name)
-                .add("phone", phone)
-                .add("email", email)
-                .add("note", note)
-                .add("tags", tags)
-                .add("alternate contacts", alternates)
+                .add("name", this.getName())
+                .add("phone", this.getPhone())
+                .add("email", this.getEmail())
+                .add("note", this.getNote())
+                .add("tags", this.getTags())
+                .add("alternate contacts", this.getAlternates())
                 .toString();
     }
 
@@ -16,6 +16,10 @@ public class ContainsTagPredicate implements Predicate<Contact> {
         this.keyword = keyword;
     }
 
+    public String getKeyword() {
+        return this.keyword;
+    }
+
     @Override
     public boolean test(Contact contact) {
         Set<Tag> tagSet = contact.getTags();
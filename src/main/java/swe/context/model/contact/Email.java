@@ -1,5 +1,7 @@
 package swe.context.model.contact;
 
+import java.util.regex.Pattern;
+
 
 
 /**
@@ -15,6 +17,7 @@ public class Email {
     public static final String REGEX_VALID = "^[a-zA-Z\\d]+(?:[+_.-][a-zA-Z\\d]+)*"
             + "@(?:[a-zA-Z\\d]+(?:-[a-zA-Z\\d]+)*\\.)+"
             + "[a-zA-Z\\d]+(?:-[a-zA-Z\\d]+)*$";
+    private static final Pattern PATTERN_VALID = Pattern.compile(Email.REGEX_VALID);
 
     public final String value;
 
@@ -22,7 +25,7 @@ public class Email {
      * Returns whether the specified value is valid.
      */
     public static boolean isValid(String value) {
-        return value.matches(Email.REGEX_VALID);
+        return Email.PATTERN_VALID.matcher(value).matches();
     }
 
     /**
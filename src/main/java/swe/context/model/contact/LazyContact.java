@@ -0,0 +1,126 @@
+package swe.context.model.contact;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import swe.context.model.alternate.AlternateContact;
+import swe.context.model.tag.Tag;
+
+
+
+/**
+ * {@link Contact} that holds only its {@link Name}, and where to load its
+ * other fields from when first needed.
+ *
+ * Its name is all that is needed to keep {@link Contact}s unique, sorted and
+ * found by name, so a large address book can be loaded without decoding
+ * anything else. Any other field is loaded, along with the rest, when it is
+ * first read, such as when the {@link Contact} is shown, matched by a filter
+ * or edited.
+ *
+ * Loaded {@link Contact}s are kept in a cache shared by every
+ * {@link LazyContact}, which holds only the most recently used ones, so
+ * memory use does not grow with the size of the address book. A
+ * {@link LazyContact} evicted from it is loaded again when next read.
+ *
+ * The {@link Source} must be able to load the {@link Contact} for as long as
+ * this exists, and always load the same one.
+ */
+public class LazyContact extends Contact {
+    private static final int CACHE_CAPACITY = 4096;
+
+    // Guarded by itself. Keyed by ID, as keying by LazyContact would load it
+    // to compare it
+    private static final Map<Integer, Contact> LOADED = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, Contact> eldest) {
+            return this.size() > LazyContact.CACHE_CAPACITY;
+        }
+    };
+
+    private final Source source;
+    private final int position;
+
+    /**
+     * Constructs with the specified values.
+     *
+     * @param source Where the other fields are loaded from.
+     * @param position Where in the source they are, as the source defines.
+     */
+    public LazyContact(Name name, Source source, int position) {
+        super(name);
+        requireNonNull(source);
+
+        this.source = source;
+        this.position = position;
+    }
+
+    @Override
+    public Phone getPhone() {
+        return this.load().getPhone();
+    }
+
+    @Override
+    public Email getEmail() {
+        return this.load().getEmail();
+    }
+
+    @Override
+    public Note getNote() {
+        return this.load().getNote();
+    }
+
+    @Override
+    public Set<Tag> getTags() {
+        return this.load().getTags();
+    }
+
+    @Override
+    public Set<AlternateContact> getAlternates() {
+        return this.load().getAlternates();
+    }
+
+    /**
+     * Returns how many {@link LazyContact}s are currently loaded.
+     */
+    public static int getLoadedCount() {
+        synchronized (LazyContact.LOADED) {
+            return LazyContact.LOADED.size();
+        }
+    }
+
+    /**
+     * Returns the fully loaded {@link Contact} with the same fields as this,
+     * from the cache if it is still there.
+     */
+    private Contact load() {
+        synchronized (LazyContact.LOADED) {
+            Contact loaded = LazyContact.LOADED.get(this.getId());
+            if (loaded != null) {
+                return loaded;
+            }
+        }
+
+        // Loaded outside the lock. If another thread loads it meanwhile,
+        // either copy is equally good
+        Contact loaded = this.source.load(this.getName(), this.position);
+        synchronized (LazyContact.LOADED) {
+            LazyContact.LOADED.put(this.getId(), loaded);
+        }
+        return loaded;
+    }
+
+    /**
+     * Loads the fields of {@link LazyContact}s.
+     */
+    public interface Source {
+        /**
+         * Returns the {@link Contact} with the specified name, whose other
+         * fields are at the specified position.
+         */
+        public Contact load(Name name, int position);
+    }
+}
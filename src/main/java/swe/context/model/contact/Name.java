@@ -1,5 +1,7 @@
 package swe.context.model.contact;
 
+import java.util.Locale;
+import java.util.regex.Pattern;
 
 
 /**
@@ -14,16 +16,20 @@ public class Name {
      * valid.
      */
     public static final String REGEX_VALID = "^[a-zA-Z\\d][a-zA-Z\\d ]*$";
+    private static final Pattern PATTERN_VALID = Pattern.compile(Name.REGEX_VALID);
 
     public final String value;
 
+    // Lazily computed, as not every name ends up being sorted
+    private String sortKey;
+
     /**
      * Returns whether the specified value is valid.
      *
      * Names must be an alphanumeric and may contain spaces, but cannot start with a space.
      */
     public static boolean isValid(String value) {
-        return value.matches(Name.REGEX_VALID);
+        return Name.PATTERN_VALID.matcher(value).matches();
     }
 
     /**
@@ -36,6 +42,21 @@ public class Name {
         this.value = value;
     }
 
+    /**
+     * Returns the case-insensitive key this sorts by.
+     *
+     * The key is computed on first use and cached, so repeated comparisons
+     * do not allocate.
+     */
+    public String getSortKey() {
+        String key = this.sortKey;
+        if (key == null) {
+            key = this.value.toUpperCase(Locale.ROOT);
+            this.sortKey = key;
+        }
+        return key;
+    }
+
     @Override
     public String toString() {
         return this.value;
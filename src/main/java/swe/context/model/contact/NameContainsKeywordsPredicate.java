@@ -16,6 +16,10 @@ public class NameContainsKeywordsPredicate implements Predicate<Contact> {
         this.keywords = keywords;
     }
 
+    public List<String> getKeywords() {
+        return this.keywords;
+    }
+
     @Override
     public boolean test(Contact contact) {
         return keywords.stream()
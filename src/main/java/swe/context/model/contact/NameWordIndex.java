@@ -0,0 +1,113 @@
+package swe.context.model.contact;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import javafx.collections.ListChangeListener;
+import swe.context.commons.util.StringUtil;
+
+
+
+/**
+ * Inverted index from the case-folded words of {@link Contact} names to the
+ * {@link Contact}s whose names contain them.
+ *
+ * Listens to a list of {@link Contact}s to stay in sync with it. Lookups
+ * match the semantics of {@link NameContainsKeywordsPredicate}, but cost is
+ * proportional to the number of keywords and matches rather than to the
+ * number of {@link Contact}s.
+ */
+public class NameWordIndex implements ListChangeListener<Contact> {
+    private static final Pattern WORD_SEPARATOR = Pattern.compile("\\s+");
+
+    private final Map<String, Set<Contact>> contactsByWord = new HashMap<>();
+
+    @Override
+    public void onChanged(Change<? extends Contact> change) {
+        while (change.next()) {
+            if (change.wasPermutated() || change.wasUpdated()) {
+                continue;
+            }
+
+            for (Contact removed : change.getRemoved()) {
+                this.remove(removed);
+            }
+            for (Contact added : change.getAddedSubList()) {
+                this.add(added);
+            }
+        }
+    }
+
+    /**
+     * Indexes the specified {@link Contact} under each word of its name.
+     */
+    public void add(Contact contact) {
+        requireNonNull(contact);
+
+        for (String word : NameWordIndex.getWords(contact)) {
+            this.contactsByWord
+                    .computeIfAbsent(word, _word -> Collections.newSetFromMap(new IdentityHashMap<>()))
+                    .add(contact);
+        }
+    }
+
+    /**
+     * Removes the specified {@link Contact} from the index.
+     *
+     * Only the same instance that was added is removed.
+     */
+    public void remove(Contact contact) {
+        requireNonNull(contact);
+
+        for (String word : NameWordIndex.getWords(contact)) {
+            Set<Contact> contacts = this.contactsByWord.get(word);
+            if (contacts == null) {
+                continue;
+            }
+
+            contacts.remove(contact);
+            if (contacts.isEmpty()) {
+                this.contactsByWord.remove(word);
+            }
+        }
+    }
+
+    /**
+     * Returns the {@link Contact}s whose names contain any of the specified
+     * keywords as a full word, ignoring case.
+     *
+     * The returned {@link Set} compares {@link Contact}s by identity.
+     */
+    public Set<Contact> findAny(Collection<String> keywords) {
+        requireNonNull(keywords);
+
+        Set<Contact> matches = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (String keyword : keywords) {
+            Set<Contact> contacts = this.contactsByWord.get(StringUtil.foldCase(keyword.trim()));
+            if (contacts != null) {
+                matches.addAll(contacts);
+            }
+        }
+        return matches;
+    }
+
+    private static Set<String> getWords(Contact contact) {
+        String[] words = NameWordIndex.WORD_SEPARATOR.split(contact.getName().value);
+
+        Set<String> foldedWords = new HashSet<>();
+        for (String word : words) {
+            if (!word.isEmpty()) {
+                foldedWords.add(StringUtil.foldCase(word));
+            }
+        }
+        return foldedWords;
+    }
+}
@@ -1,5 +1,7 @@
 package swe.context.model.contact;
 
+import java.util.regex.Pattern;
+
 
 
 /**
@@ -13,6 +15,7 @@ public class Phone {
      * Requires starting with at least 3 digits and extra characters are allowed after.
      */
     public static final String REGEX_VALID = "^\\d{3,}.*$";
+    private static final Pattern PATTERN_VALID = Pattern.compile(Phone.REGEX_VALID);
 
     public final String value;
 
@@ -20,7 +23,7 @@ public class Phone {
      * Returns true if a given string is a valid phone number.
      */
     public static boolean isValid(String value) {
-        return value.matches(Phone.REGEX_VALID);
+        return Phone.PATTERN_VALID.matcher(value).matches();
     }
 
     /**
@@ -3,13 +3,23 @@ package swe.context.model.contact;
 import static java.util.Objects.requireNonNull;
 import static swe.context.commons.util.CollectionUtil.requireAllNonNull;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
 import javafx.collections.ObservableList;
+import swe.context.commons.util.IntIntMap;
 import swe.context.model.contact.exceptions.ContactNotFoundException;
 import swe.context.model.contact.exceptions.DuplicateContactException;
+import swe.context.model.util.BatchObservableList;
 
 
 
@@ -20,21 +30,52 @@ import swe.context.model.contact.exceptions.DuplicateContactException;
  * or updated is unique in terms of identity in the UniqueContactList. However, the removal of a contact uses
  * Contact#equals(Object) so as to ensure that the contact with exactly the same fields will be removed.
  *
+ * Alongside the backing list, a hash index of each contact's {@link Name} is
+ * kept in sync on every modification, so that identity checks such as
+ * {@link #contains(Contact)} run in constant time. A map from each contact's
+ * {@link Contact#getId()} to its position in the list lets updates and removals
+ * find their target without scanning the list.
+ *
+ * Batch operations validate the whole batch before modifying anything, then
+ * make a single pass over the list and notify listeners once.
+ *
  * Supports a minimal set of list operations.
  *
  * @see Contact#isSameContact(Contact)
  */
 public class UniqueContactList implements Iterable<Contact> {
-    private final ObservableList<Contact> internalList = FXCollections.observableArrayList();
+    private static final int MAX_REMOVALS_BEFORE_REINDEX = 1024;
+
+    private final ObservableList<Contact> internalList = new BatchObservableList<>();
     private final ObservableList<Contact> internalUnmodifiableList =
             FXCollections.unmodifiableObservableList(internalList);
+    private Map<Name, Contact> contactsByName = new HashMap<>();
+
+    /*
+     * Positions are not shifted when earlier contacts are removed, so each
+     * removal since the last reindex may have moved a contact one position
+     * left of its recorded slot. Lookups scan back over at most that many
+     * positions, and a reindex bounds how far that can get.
+     */
+    private final IntIntMap slotsById = new IntIntMap();
+    private int removalsSinceReindex = 0;
+
+    private long version = 0;
+
+    /**
+     * Constructs an empty list.
+     */
+    public UniqueContactList() {
+        // Every modification, batched or not, passes through the backing list
+        internalList.addListener((ListChangeListener<Contact>) change -> version++);
+    }
 
     /**
      * Returns true if the list contains an equivalent contact as the given argument.
      */
     public boolean contains(Contact toCheck) {
         requireNonNull(toCheck);
-        return internalList.stream().anyMatch(toCheck::isSameContact);
+        return contactsByName.containsKey(toCheck.getName());
     }
 
     /**
@@ -47,6 +88,8 @@ public class UniqueContactList implements Iterable<Contact> {
             throw new DuplicateContactException();
         }
         internalList.add(toAdd);
+        contactsByName.put(toAdd.getName(), toAdd);
+        slotsById.put(toAdd.getId(), internalList.size() - 1);
     }
 
     /**
@@ -57,16 +100,17 @@ public class UniqueContactList implements Iterable<Contact> {
     public void setContact(Contact target, Contact editedContact) {
         requireAllNonNull(target, editedContact);
 
-        int index = internalList.indexOf(target);
-        if (index == -1) {
-            throw new ContactNotFoundException();
-        }
-
+        Contact stored = getEquivalent(target);
         if (!target.isSameContact(editedContact) && contains(editedContact)) {
             throw new DuplicateContactException();
         }
 
+        int index = slotOf(stored);
         internalList.set(index, editedContact);
+        contactsByName.remove(stored.getName());
+        contactsByName.put(editedContact.getName(), editedContact);
+        slotsById.remove(stored.getId());
+        slotsById.put(editedContact.getId(), index);
     }
 
     /**
@@ -75,8 +119,93 @@ public class UniqueContactList implements Iterable<Contact> {
      */
     public void remove(Contact toRemove) {
         requireNonNull(toRemove);
-        if (!internalList.remove(toRemove)) {
-            throw new ContactNotFoundException();
+        Contact stored = getEquivalent(toRemove);
+
+        internalList.remove(slotOf(stored));
+        contactsByName.remove(stored.getName());
+        slotsById.remove(stored.getId());
+        recordRemovals(1);
+    }
+
+    /**
+     * Adds all of {@code toAdd} to the end of the list.
+     * None of the contacts may already exist in the list, nor be the same as each other.
+     */
+    public void addAll(Collection<Contact> toAdd) {
+        requireAllNonNull(toAdd);
+
+        Map<Name, Contact> added = indexByName(toAdd);
+        for (Name name : added.keySet()) {
+            if (contactsByName.containsKey(name)) {
+                throw new DuplicateContactException();
+            }
+        }
+
+        int slot = internalList.size();
+        internalList.addAll(toAdd);
+        contactsByName.putAll(added);
+        for (Contact contact : toAdd) {
+            slotsById.put(contact.getId(), slot++);
+        }
+    }
+
+    /**
+     * Removes the equivalent contacts of all of {@code toRemove} from the list.
+     * Every contact must exist in the list.
+     */
+    public void removeAll(Collection<Contact> toRemove) {
+        requireAllNonNull(toRemove);
+
+        Set<Contact> stored = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Contact contact : toRemove) {
+            stored.add(getEquivalent(contact));
+        }
+
+        internalList.removeIf(stored::contains);
+        for (Contact contact : stored) {
+            contactsByName.remove(contact.getName());
+            slotsById.remove(contact.getId());
+        }
+        recordRemovals(stored.size());
+    }
+
+    /**
+     * Replaces each key of {@code replacements} in the list with its value.
+     * Every key must exist in the list.
+     * The contact identities of the values must not be the same as each other, nor as another existing contact in
+     * the list that is not itself being replaced.
+     */
+    public void replaceAll(Map<Contact, Contact> replacements) {
+        requireNonNull(replacements);
+
+        Map<Contact, Contact> storedReplacements = new IdentityHashMap<>();
+        Set<Name> freedNames = new HashSet<>();
+        for (Map.Entry<Contact, Contact> entry : replacements.entrySet()) {
+            requireAllNonNull(entry.getKey(), entry.getValue());
+            Contact stored = getEquivalent(entry.getKey());
+            storedReplacements.put(stored, entry.getValue());
+            freedNames.add(stored.getName());
+        }
+        Map<Name, Contact> edited = indexByName(storedReplacements.values());
+        for (Name name : edited.keySet()) {
+            if (contactsByName.containsKey(name) && !freedNames.contains(name)) {
+                throw new DuplicateContactException();
+            }
+        }
+
+        internalList.replaceAll(contact -> storedReplacements.getOrDefault(contact, contact));
+        contactsByName.keySet().removeAll(freedNames);
+        contactsByName.putAll(edited);
+
+        // Replacements take over their targets' slots, which may be equally stale
+        int[] slots = new int[storedReplacements.size()];
+        int i = 0;
+        for (Contact contact : storedReplacements.keySet()) {
+            slots[i++] = slotsById.remove(contact.getId());
+        }
+        i = 0;
+        for (Contact contact : storedReplacements.values()) {
+            slotsById.put(contact.getId(), slots[i++]);
         }
     }
 
@@ -86,11 +215,18 @@ public class UniqueContactList implements Iterable<Contact> {
      */
     public void setContacts(List<Contact> contacts) {
         requireAllNonNull(contacts);
-        if (!contactsAreUnique(contacts)) {
-            throw new DuplicateContactException();
-        }
+        Map<Name, Contact> newContactsByName = indexByName(contacts);
 
         internalList.setAll(contacts);
+        contactsByName = newContactsByName;
+        reindexSlots();
+    }
+
+    /**
+     * Returns a number that is incremented on every modification of the list.
+     */
+    public long getVersion() {
+        return version;
     }
 
     /**
@@ -131,16 +267,62 @@ public class UniqueContactList implements Iterable<Contact> {
     }
 
     /**
-     * Returns true if {@code contacts} contains only unique contacts.
+     * Returns the current position of {@code stored}, which must be in the list.
      */
-    private boolean contactsAreUnique(List<Contact> contacts) {
-        for (int i = 0; i < contacts.size() - 1; i++) {
-            for (int j = i + 1; j < contacts.size(); j++) {
-                if (contacts.get(i).isSameContact(contacts.get(j))) {
-                    return false;
+    private int slotOf(Contact stored) {
+        int slot = slotsById.get(stored.getId());
+        int lowest = Math.max(slot - removalsSinceReindex, 0);
+        for (int i = Math.min(slot, internalList.size() - 1); i >= lowest; i--) {
+            if (internalList.get(i) == stored) {
+                if (i != slot) {
+                    slotsById.put(stored.getId(), i);
                 }
+                return i;
+            }
+        }
+        throw new IllegalStateException("Slot index out of sync with list");
+    }
+
+    private void recordRemovals(int count) {
+        removalsSinceReindex += count;
+        if (removalsSinceReindex > MAX_REMOVALS_BEFORE_REINDEX) {
+            reindexSlots();
+        }
+    }
+
+    private void reindexSlots() {
+        slotsById.clear();
+        for (int i = 0; i < internalList.size(); i++) {
+            slotsById.put(internalList.get(i).getId(), i);
+        }
+        removalsSinceReindex = 0;
+    }
+
+    /**
+     * Returns the stored contact equal to {@code contact}.
+     *
+     * @throws ContactNotFoundException If there is no such contact.
+     */
+    private Contact getEquivalent(Contact contact) {
+        Contact stored = contactsByName.get(contact.getName());
+        if (stored == null || !stored.equals(contact)) {
+            throw new ContactNotFoundException();
+        }
+        return stored;
+    }
+
+    /**
+     * Returns a new name index of {@code contacts}, built in a single pass.
+     *
+     * @throws DuplicateContactException If {@code contacts} contains duplicates.
+     */
+    private static Map<Name, Contact> indexByName(Collection<Contact> contacts) {
+        Map<Name, Contact> index = new HashMap<>(contacts.size() * 4 / 3 + 1);
+        for (Contact contact : contacts) {
+            if (index.putIfAbsent(contact.getName(), contact) != null) {
+                throw new DuplicateContactException();
             }
         }
-        return true;
+        return index;
     }
 }
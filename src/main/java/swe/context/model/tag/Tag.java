@@ -1,5 +1,6 @@
 package swe.context.model.tag;
 
+import swe.context.commons.util.Interner;
 import swe.context.model.contact.Contact;
 import swe.context.model.contact.Name;
 
@@ -10,8 +11,13 @@ import swe.context.model.contact.Name;
  *
  * Constructor arguments must be valid as determined by
  * {@link #isValid(String)}.
+ *
+ * Equal instances are interchangeable, so {@link #of(String)} should be
+ * preferred over the constructor to share one canonical instance per value.
  */
 public final class Tag {
+    private static final Interner<Tag> INTERNER = new Interner<>();
+
     public final String value;
 
     /**
@@ -23,6 +29,15 @@ public final class Tag {
         return value.matches(Name.REGEX_VALID);
     }
 
+    /**
+     * Returns the canonical instance for the specified value.
+     *
+     * Arguments must be valid as determined by {@link #isValid(String)}.
+     */
+    public static Tag of(String value) {
+        return Tag.INTERNER.intern(new Tag(value));
+    }
+
     /**
      * Constructs with the specified value.
      *
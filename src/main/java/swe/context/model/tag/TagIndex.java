@@ -0,0 +1,136 @@
+package swe.context.model.tag;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javafx.collections.ListChangeListener;
+import swe.context.commons.util.StringUtil;
+import swe.context.model.contact.Contact;
+
+
+
+/**
+ * Index from case-folded {@link Tag} values to bitmaps of the
+ * {@link Contact}s that have them.
+ *
+ * Each indexed {@link Contact} is assigned a small ordinal, which is its bit
+ * position in every bitmap. Ordinals of removed {@link Contact}s are reused,
+ * keeping the bitmaps compact.
+ *
+ * Listens to a list of {@link Contact}s to stay in sync with it.
+ */
+public class TagIndex implements ListChangeListener<Contact> {
+    private final Map<String, BitSet> ordinalsByTag = new HashMap<>();
+
+    private final Map<Contact, Integer> ordinals = new IdentityHashMap<>();
+    private final List<Contact> contactsByOrdinal = new ArrayList<>();
+    private final BitSet freeOrdinals = new BitSet();
+
+    @Override
+    public void onChanged(Change<? extends Contact> change) {
+        while (change.next()) {
+            if (change.wasPermutated() || change.wasUpdated()) {
+                continue;
+            }
+
+            for (Contact removed : change.getRemoved()) {
+                this.remove(removed);
+            }
+            for (Contact added : change.getAddedSubList()) {
+                this.add(added);
+            }
+        }
+    }
+
+    /**
+     * Indexes the specified {@link Contact} under each of its {@link Tag}s.
+     */
+    public void add(Contact contact) {
+        requireNonNull(contact);
+
+        int ordinal = this.freeOrdinals.nextSetBit(0);
+        if (ordinal == -1) {
+            ordinal = this.contactsByOrdinal.size();
+            this.contactsByOrdinal.add(contact);
+        } else {
+            this.freeOrdinals.clear(ordinal);
+            this.contactsByOrdinal.set(ordinal, contact);
+        }
+        this.ordinals.put(contact, ordinal);
+
+        for (Tag tag : contact.getTags()) {
+            this.ordinalsByTag
+                    .computeIfAbsent(StringUtil.foldCase(tag.value), _tag -> new BitSet())
+                    .set(ordinal);
+        }
+    }
+
+    /**
+     * Removes the specified {@link Contact} from the index.
+     *
+     * Only the same instance that was added is removed.
+     */
+    public void remove(Contact contact) {
+        requireNonNull(contact);
+
+        Integer ordinal = this.ordinals.remove(contact);
+        if (ordinal == null) {
+            return;
+        }
+        this.contactsByOrdinal.set(ordinal, null);
+        this.freeOrdinals.set(ordinal);
+
+        for (Tag tag : contact.getTags()) {
+            String key = StringUtil.foldCase(tag.value);
+            BitSet bits = this.ordinalsByTag.get(key);
+            if (bits == null) {
+                continue;
+            }
+
+            bits.clear(ordinal);
+            if (bits.isEmpty()) {
+                this.ordinalsByTag.remove(key);
+            }
+        }
+    }
+
+    /**
+     * Returns the {@link Contact}s that have a {@link Tag} matching the
+     * specified value in full, ignoring case.
+     *
+     * The returned {@link Set} compares {@link Contact}s by identity.
+     */
+    public Set<Contact> find(String tagValue) {
+        requireNonNull(tagValue);
+
+        Set<Contact> matches = Collections.newSetFromMap(new IdentityHashMap<>());
+        BitSet bits = this.ordinalsByTag.get(StringUtil.foldCase(tagValue));
+        if (bits == null) {
+            return matches;
+        }
+
+        for (int i = bits.nextSetBit(0); i >= 0; i = bits.nextSetBit(i + 1)) {
+            matches.add(this.contactsByOrdinal.get(i));
+        }
+        return matches;
+    }
+
+    /**
+     * Returns the number of {@link Contact}s that have a {@link Tag} matching
+     * the specified value in full, ignoring case.
+     */
+    public int count(String tagValue) {
+        requireNonNull(tagValue);
+
+        BitSet bits = this.ordinalsByTag.get(StringUtil.foldCase(tagValue));
+        return bits == null ? 0 : bits.cardinality();
+    }
+}
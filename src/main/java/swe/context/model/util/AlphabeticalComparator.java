@@ -3,6 +3,7 @@ package swe.context.model.util;
 import java.util.Comparator;
 
 import swe.context.model.contact.Contact;
+import swe.context.model.contact.Name;
 
 
 
@@ -12,16 +13,16 @@ import swe.context.model.contact.Contact;
 public class AlphabeticalComparator implements Comparator<Contact> {
     @Override
     public int compare(Contact a, Contact b) {
-        String aName = a.getName().value;
-        String bName = b.getName().value;
+        Name aName = a.getName();
+        Name bName = b.getName();
 
-        int n = aName.toUpperCase().compareTo(bName.toUpperCase());
+        int n = aName.getSortKey().compareTo(bName.getSortKey());
         if (n != 0) {
             return n;
         }
 
         // Only take true capitalization into account if names would otherwise
         // be identical
-        return aName.compareTo(bName);
+        return aName.value.compareTo(bName.value);
     }
 }
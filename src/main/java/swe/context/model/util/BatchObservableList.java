@@ -0,0 +1,163 @@
+package swe.context.model.util;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+import javafx.collections.ModifiableObservableListBase;
+import javafx.collections.ObservableList;
+
+
+
+/**
+ * {@link ObservableList} backed by an {@link ArrayList}, whose bulk operations
+ * each make a single pass over the elements and notify listeners once.
+ *
+ * {@link #setAll(Collection)}, {@link #addAll(Collection)}, {@link #clear()},
+ * {@link #removeIf(Predicate)} and {@link #replaceAll(UnaryOperator)} each
+ * report one change, whose sub-changes are built in ascending order so that
+ * aggregating them stays linear in the number of affected elements.
+ */
+public class BatchObservableList<E> extends ModifiableObservableListBase<E> {
+    private ArrayList<E> elements = new ArrayList<>();
+
+    @Override
+    public E get(int index) {
+        return this.elements.get(index);
+    }
+
+    @Override
+    public int size() {
+        return this.elements.size();
+    }
+
+    @Override
+    protected void doAdd(int index, E element) {
+        this.elements.add(index, element);
+    }
+
+    @Override
+    protected E doSet(int index, E element) {
+        return this.elements.set(index, element);
+    }
+
+    @Override
+    protected E doRemove(int index) {
+        return this.elements.remove(index);
+    }
+
+    @Override
+    public boolean setAll(Collection<? extends E> collection) {
+        ArrayList<E> replacement = new ArrayList<>(collection);
+        if (this.elements.isEmpty() && replacement.isEmpty()) {
+            return false;
+        }
+
+        ArrayList<E> old = this.elements;
+        this.elements = replacement;
+        this.modCount++;
+
+        this.beginChange();
+        if (old.isEmpty()) {
+            this.nextAdd(0, replacement.size());
+        } else if (replacement.isEmpty()) {
+            this.nextRemove(0, old);
+        } else {
+            this.nextReplace(0, replacement.size(), old);
+        }
+        this.endChange();
+        return true;
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends E> collection) {
+        if (collection.isEmpty()) {
+            return false;
+        }
+
+        int from = this.elements.size();
+        this.elements.addAll(collection);
+        this.modCount++;
+
+        this.beginChange();
+        this.nextAdd(from, this.elements.size());
+        this.endChange();
+        return true;
+    }
+
+    @Override
+    public void clear() {
+        this.setAll(new ArrayList<>());
+    }
+
+    /**
+     * Removes all elements that satisfy the specified {@link Predicate},
+     * compacting the remaining elements in a single pass.
+     *
+     * The {@link Predicate} is evaluated for every element before any is
+     * removed, so if it throws, this list is left unchanged.
+     */
+    @Override
+    public boolean removeIf(Predicate<? super E> filter) {
+        requireNonNull(filter);
+
+        int size = this.elements.size();
+        BitSet matches = new BitSet(size);
+        for (int i = 0; i < size; i++) {
+            if (filter.test(this.elements.get(i))) {
+                matches.set(i);
+            }
+        }
+        if (matches.isEmpty()) {
+            return false;
+        }
+
+        this.beginChange();
+        int write = 0;
+        for (int read = 0; read < size; read++) {
+            E element = this.elements.get(read);
+            if (matches.get(read)) {
+                // Earlier removals have already shifted this element to write
+                this.nextRemove(write, element);
+            } else {
+                this.elements.set(write++, element);
+            }
+        }
+        this.elements.subList(write, size).clear();
+        this.modCount++;
+        this.endChange();
+        return true;
+    }
+
+    /**
+     * Replaces each element with the result of the specified operator.
+     *
+     * Only elements for which the operator returns a different instance are
+     * reported as replaced.
+     */
+    @Override
+    public void replaceAll(UnaryOperator<E> operator) {
+        requireNonNull(operator);
+
+        List<E> replacements = new ArrayList<>(this.elements.size());
+        for (E element : this.elements) {
+            replacements.add(operator.apply(element));
+        }
+
+        this.beginChange();
+        for (int i = 0; i < replacements.size(); i++) {
+            E replacement = replacements.get(i);
+            E old = this.elements.set(i, replacement);
+            if (old != replacement) {
+                this.nextSet(i, old);
+            }
+        }
+        this.modCount++;
+        this.endChange();
+    }
+}
@@ -0,0 +1,266 @@
+package swe.context.model.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+
+
+
+/**
+ * Balanced binary search tree of elements kept in {@link Comparator} order,
+ * which can also look elements up by their position in that order.
+ *
+ * Insertion, removal, positional access and position lookup all take
+ * O(log n). Elements that compare as equal are allowed, and are kept in
+ * insertion order relative to each other.
+ */
+class OrderStatisticTree<E> {
+    /**
+     * AVL tree node, which also tracks the size of its subtree.
+     */
+    private static final class Node<E> {
+        private E element;
+        private Node<E> left;
+        private Node<E> right;
+        private int height = 1;
+        private int size = 1;
+
+        private Node(E element) {
+            this.element = element;
+        }
+    }
+
+    private final Comparator<? super E> comparator;
+
+    private Node<E> root;
+
+    // Index at which the last insertion took place
+    private int lastInsertIndex;
+
+    OrderStatisticTree(Comparator<? super E> comparator) {
+        this.comparator = comparator;
+    }
+
+    public int size() {
+        return OrderStatisticTree.sizeOf(this.root);
+    }
+
+    /**
+     * Returns the element at the specified position.
+     *
+     * @throws IndexOutOfBoundsException If the index is out of range.
+     */
+    public E get(int index) {
+        Objects.checkIndex(index, this.size());
+
+        Node<E> node = this.root;
+        while (true) {
+            int leftSize = OrderStatisticTree.sizeOf(node.left);
+            if (index < leftSize) {
+                node = node.left;
+            } else if (index > leftSize) {
+                index -= leftSize + 1;
+                node = node.right;
+            } else {
+                return node.element;
+            }
+        }
+    }
+
+    /**
+     * Inserts the specified element, returning the position it was inserted
+     * at.
+     */
+    public int insert(E element) {
+        this.root = this.insertInto(this.root, element, 0);
+        return this.lastInsertIndex;
+    }
+
+    /**
+     * Returns the position of an element equal to the specified one, as
+     * determined by {@link Object#equals(Object)}, or -1 if there is none.
+     */
+    public int indexOf(E element) {
+        int index = this.lowerBound(element);
+        int size = this.size();
+        for (; index < size; index++) {
+            E candidate = this.get(index);
+            if (this.comparator.compare(candidate, element) != 0) {
+                break;
+            }
+            if (Objects.equals(candidate, element)) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Removes the specified instance, returning the position it was removed
+     * from, or -1 if it is not in this tree.
+     */
+    public int removeSame(E element) {
+        int index = this.lowerBound(element);
+        int size = this.size();
+        for (; index < size; index++) {
+            E candidate = this.get(index);
+            if (this.comparator.compare(candidate, element) != 0) {
+                break;
+            }
+            if (candidate == element) {
+                this.root = this.removeAt(this.root, index);
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Replaces all elements with the specified ones, which must already be
+     * sorted.
+     */
+    public void setAllSorted(List<? extends E> sorted) {
+        this.root = this.build(sorted, 0, sorted.size());
+    }
+
+    /**
+     * Returns all elements as a new {@link List}, in order.
+     */
+    public List<E> toList() {
+        List<E> list = new ArrayList<>(this.size());
+        OrderStatisticTree.collect(this.root, list);
+        return list;
+    }
+
+    private static <E> void collect(Node<E> node, List<E> list) {
+        if (node == null) {
+            return;
+        }
+        OrderStatisticTree.collect(node.left, list);
+        list.add(node.element);
+        OrderStatisticTree.collect(node.right, list);
+    }
+
+    /**
+     * Returns the position of the first element that does not compare as less
+     * than the specified one.
+     */
+    private int lowerBound(E element) {
+        Node<E> node = this.root;
+        int offset = 0;
+        int result = this.size();
+        while (node != null) {
+            if (this.comparator.compare(node.element, element) >= 0) {
+                result = offset + OrderStatisticTree.sizeOf(node.left);
+                node = node.left;
+            } else {
+                offset += OrderStatisticTree.sizeOf(node.left) + 1;
+                node = node.right;
+            }
+        }
+        return result;
+    }
+
+    private Node<E> insertInto(Node<E> node, E element, int offset) {
+        if (node == null) {
+            this.lastInsertIndex = offset;
+            return new Node<>(element);
+        }
+
+        if (this.comparator.compare(element, node.element) < 0) {
+            node.left = this.insertInto(node.left, element, offset);
+        } else {
+            node.right = this.insertInto(node.right, element, offset + OrderStatisticTree.sizeOf(node.left) + 1);
+        }
+        return OrderStatisticTree.rebalance(node);
+    }
+
+    private Node<E> removeAt(Node<E> node, int index) {
+        int leftSize = OrderStatisticTree.sizeOf(node.left);
+        if (index < leftSize) {
+            node.left = this.removeAt(node.left, index);
+        } else if (index > leftSize) {
+            node.right = this.removeAt(node.right, index - leftSize - 1);
+        } else {
+            if (node.left == null) {
+                return node.right;
+            }
+            if (node.right == null) {
+                return node.left;
+            }
+
+            // Replace with the in-order successor
+            Node<E> successor = node.right;
+            while (successor.left != null) {
+                successor = successor.left;
+            }
+            node.element = successor.element;
+            node.right = this.removeAt(node.right, 0);
+        }
+        return OrderStatisticTree.rebalance(node);
+    }
+
+    private Node<E> build(List<? extends E> sorted, int from, int to) {
+        if (from >= to) {
+            return null;
+        }
+
+        int middle = (from + to) >>> 1;
+        Node<E> node = new Node<>(sorted.get(middle));
+        node.left = this.build(sorted, from, middle);
+        node.right = this.build(sorted, middle + 1, to);
+        OrderStatisticTree.update(node);
+        return node;
+    }
+
+    private static int sizeOf(Node<?> node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static int heightOf(Node<?> node) {
+        return node == null ? 0 : node.height;
+    }
+
+    private static void update(Node<?> node) {
+        node.height = Math.max(OrderStatisticTree.heightOf(node.left), OrderStatisticTree.heightOf(node.right)) + 1;
+        node.size = OrderStatisticTree.sizeOf(node.left) + OrderStatisticTree.sizeOf(node.right) + 1;
+    }
+
+    private static <E> Node<E> rebalance(Node<E> node) {
+        OrderStatisticTree.update(node);
+
+        int balance = OrderStatisticTree.heightOf(node.left) - OrderStatisticTree.heightOf(node.right);
+        if (balance > 1) {
+            if (OrderStatisticTree.heightOf(node.left.left) < OrderStatisticTree.heightOf(node.left.right)) {
+                node.left = OrderStatisticTree.rotateLeft(node.left);
+            }
+            return OrderStatisticTree.rotateRight(node);
+        }
+        if (balance < -1) {
+            if (OrderStatisticTree.heightOf(node.right.right) < OrderStatisticTree.heightOf(node.right.left)) {
+                node.right = OrderStatisticTree.rotateRight(node.right);
+            }
+            return OrderStatisticTree.rotateLeft(node);
+        }
+        return node;
+    }
+
+    private static <E> Node<E> rotateLeft(Node<E> node) {
+        Node<E> pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        OrderStatisticTree.update(node);
+        OrderStatisticTree.update(pivot);
+        return pivot;
+    }
+
+    private static <E> Node<E> rotateRight(Node<E> node) {
+        Node<E> pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        OrderStatisticTree.update(node);
+        OrderStatisticTree.update(pivot);
+        return pivot;
+    }
+}
@@ -69,13 +69,13 @@ public class SampleContactsUtil {
      */
     public static Set<Tag> getTagSet(String... strings) {
         return Arrays.stream(strings)
-                .map(Tag::new)
+                .map(Tag::of)
                 .collect(Collectors.toSet());
     }
 
     public static Set<AlternateContact> getAlternateContactSet(String... strings) {
         return Arrays.stream(strings)
-                .map(AlternateContact::new)
+                .map(AlternateContact::of)
                 .collect(Collectors.toSet());
     }
 
@@ -0,0 +1,278 @@
+package swe.context.model.util;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import javafx.collections.ObservableListBase;
+
+
+
+/**
+ * Unmodifiable view of an {@link ObservableList}, which is both sorted by a
+ * {@link Comparator} and filtered by a {@link Predicate}.
+ *
+ * Elements are kept in an order-statistic tree, so when the source changes,
+ * only the changed elements are tested against the predicate and moved into
+ * place, each in O(log n), and only their positions are reported to
+ * listeners. Large source changes are instead merged into the view in one
+ * linear pass, and predicate changes rebuild it.
+ */
+public class SortedFilteredList<E> extends ObservableListBase<E> {
+    /**
+     * Number of changed source elements up to which updating the view one
+     * element at a time is cheaper than merging all changes in one pass.
+     */
+    private static final int INCREMENTAL_THRESHOLD = 64;
+
+    private final ObservableList<E> source;
+    private final Comparator<? super E> comparator;
+    private final OrderStatisticTree<E> tree;
+
+    // Null to let every element through, as with FilteredList
+    private Predicate<? super E> predicate = null;
+
+    /**
+     * Constructs a view of the specified source, sorted with the specified
+     * {@link Comparator} and not yet filtered.
+     */
+    public SortedFilteredList(ObservableList<E> _source, Comparator<? super E> _comparator) {
+        requireNonNull(_source);
+        requireNonNull(_comparator);
+
+        this.source = _source;
+        this.comparator = _comparator;
+        this.tree = new OrderStatisticTree<>(_comparator);
+
+        this.tree.setAllSorted(this.collectSorted());
+        ListChangeListener<E> listener = this::onSourceChanged;
+        this.source.addListener(listener);
+    }
+
+    public Predicate<? super E> getPredicate() {
+        return this.predicate;
+    }
+
+    /**
+     * Filters the view with the specified {@link Predicate}, or lets every
+     * element through if it is null.
+     *
+     * Setting the same {@link Predicate} instance again does nothing.
+     */
+    public void setPredicate(Predicate<? super E> _predicate) {
+        if (_predicate == this.predicate) {
+            return;
+        }
+
+        this.predicate = _predicate;
+        this.beginChange();
+        this.rebuild();
+        this.endChange();
+    }
+
+    @Override
+    public E get(int index) {
+        return this.tree.get(index);
+    }
+
+    @Override
+    public int size() {
+        return this.tree.size();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public int indexOf(Object o) {
+        try {
+            return this.tree.indexOf((E) o);
+        } catch (ClassCastException | NullPointerException e) {
+            // The comparator cannot place this object, so it is not present
+            return -1;
+        }
+    }
+
+    @Override
+    public int lastIndexOf(Object o) {
+        // Sorted, so equal elements cannot be told apart by position anyway
+        return this.indexOf(o);
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return this.indexOf(o) >= 0;
+    }
+
+    private void onSourceChanged(ListChangeListener.Change<? extends E> change) {
+        int changedCount = 0;
+        boolean wasUpdated = false;
+        while (change.next()) {
+            if (change.wasPermutated()) {
+                // Source order does not matter to a sorted view
+                continue;
+            }
+            if (change.wasUpdated()) {
+                wasUpdated = true;
+                changedCount += change.getTo() - change.getFrom();
+            } else {
+                changedCount += change.getRemovedSize() + change.getAddedSize();
+            }
+        }
+        if (changedCount == 0) {
+            return;
+        }
+
+        change.reset();
+        this.beginChange();
+        if (changedCount <= SortedFilteredList.INCREMENTAL_THRESHOLD) {
+            this.applyIncrementally(change);
+        } else if (wasUpdated) {
+            // Updated elements may have moved anywhere
+            this.rebuild();
+        } else {
+            this.applyByMerging(change);
+        }
+        this.endChange();
+    }
+
+    /**
+     * Applies each changed element to the tree in turn.
+     */
+    private void applyIncrementally(ListChangeListener.Change<? extends E> change) {
+        while (change.next()) {
+            if (change.wasPermutated()) {
+                continue;
+            }
+
+            if (change.wasUpdated()) {
+                for (int i = change.getFrom(); i < change.getTo(); i++) {
+                    E updated = this.source.get(i);
+                    this.removeElement(updated);
+                    this.addElement(updated);
+                }
+                continue;
+            }
+            for (E removed : change.getRemoved()) {
+                this.removeElement(removed);
+            }
+            for (E added : change.getAddedSubList()) {
+                this.addElement(added);
+            }
+        }
+    }
+
+    /**
+     * Applies all changed elements at once, by merging the sorted additions
+     * into the current contents in a single pass.
+     *
+     * Positions are reported in ascending order, which keeps aggregating them
+     * into one change linear.
+     */
+    private void applyByMerging(ListChangeListener.Change<? extends E> change) {
+        // Net number of times each element was added
+        Map<E, Integer> netAdditions = new IdentityHashMap<>();
+        while (change.next()) {
+            if (change.wasPermutated()) {
+                continue;
+            }
+            for (E removed : change.getRemoved()) {
+                netAdditions.merge(removed, -1, Integer::sum);
+            }
+            for (E added : change.getAddedSubList()) {
+                netAdditions.merge(added, 1, Integer::sum);
+            }
+        }
+
+        List<E> additions = new ArrayList<>();
+        for (Map.Entry<E, Integer> entry : netAdditions.entrySet()) {
+            if (entry.getValue() > 0 && this.isIncluded(entry.getKey())) {
+                additions.addAll(Collections.nCopies(entry.getValue(), entry.getKey()));
+            }
+        }
+        additions.sort(this.comparator);
+
+        List<E> old = this.tree.toList();
+        List<E> merged = new ArrayList<>(old.size() + additions.size());
+        int next = 0;
+        for (E element : old) {
+            int netAddition = netAdditions.getOrDefault(element, 0);
+            if (netAddition < 0) {
+                netAdditions.put(element, netAddition + 1);
+                this.nextRemove(merged.size(), element);
+                continue;
+            }
+            while (next < additions.size() && this.comparator.compare(additions.get(next), element) < 0) {
+                merged.add(additions.get(next++));
+                this.nextAdd(merged.size() - 1, merged.size());
+            }
+            merged.add(element);
+        }
+        if (next < additions.size()) {
+            int from = merged.size();
+            merged.addAll(additions.subList(next, additions.size()));
+            this.nextAdd(from, merged.size());
+        }
+        this.tree.setAllSorted(merged);
+    }
+
+    private void addElement(E element) {
+        if (!this.isIncluded(element)) {
+            return;
+        }
+
+        int index = this.tree.insert(element);
+        this.nextAdd(index, index + 1);
+    }
+
+    private void removeElement(E element) {
+        int index = this.tree.removeSame(element);
+        if (index >= 0) {
+            this.nextRemove(index, element);
+        }
+    }
+
+    /**
+     * Replaces the contents of the view with freshly filtered and sorted
+     * source elements, reporting it as a single change.
+     *
+     * Must be called between {@link #beginChange()} and {@link #endChange()}.
+     */
+    private void rebuild() {
+        List<E> old = this.tree.toList();
+        List<E> current = this.collectSorted();
+        this.tree.setAllSorted(current);
+
+        if (old.isEmpty() && current.isEmpty()) {
+            return;
+        }
+        if (old.isEmpty()) {
+            this.nextAdd(0, current.size());
+        } else if (current.isEmpty()) {
+            this.nextRemove(0, old);
+        } else {
+            this.nextReplace(0, current.size(), old);
+        }
+    }
+
+    private List<E> collectSorted() {
+        List<E> included = new ArrayList<>();
+        for (E element : this.source) {
+            if (this.isIncluded(element)) {
+                included.add(element);
+            }
+        }
+        included.sort(this.comparator);
+        return included;
+    }
+
+    private boolean isIncluded(E element) {
+        return this.predicate == null || this.predicate.test(element);
+    }
+}
@@ -0,0 +1,267 @@
+package swe.context.storage;
+
+import static java.util.Objects.requireNonNull;
+import static swe.context.commons.util.AppUtil.checkArgument;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import swe.context.annotation.Nullable;
+import swe.context.commons.core.LogsCenter;
+import swe.context.commons.exceptions.DataLoadingException;
+import swe.context.commons.util.StringUtil;
+import swe.context.model.Contacts;
+import swe.context.model.ContactsSavePolicy;
+import swe.context.model.ReadOnlyContacts;
+import swe.context.model.contact.Contact;
+
+
+
+/**
+ * {@link ContactsStorage} that writes to another {@link ContactsStorage} in
+ * the background, so that saving does not wait for the write.
+ *
+ * Saving takes a snapshot of the contacts, which a single worker thread
+ * writes as the {@link ContactsSavePolicy} dictates. A snapshot that has not
+ * been written yet is replaced by any newer one, so bursts of saves coalesce
+ * into one write. Failed writes are retried with exponential backoff, and
+ * the latest failure that no retry has recovered from is thrown by the next
+ * save, so that it is still reported.
+ *
+ * Under {@link ContactsSavePolicy#EVERY_COMMAND}, storage is written
+ * synchronously instead, so that failures are reported by the command that
+ * caused them, and this is not used.
+ */
+public class AsyncContactsStorage implements ContactsStorage {
+    private static final Logger logger = LogsCenter.getLogger(AsyncContactsStorage.class);
+
+    private static final long INITIAL_RETRY_DELAY_MILLIS = 200;
+    private static final long MAX_RETRY_DELAY_MILLIS = 10_000;
+
+    private final ContactsStorage delegate;
+    private final ContactsSavePolicy policy;
+    private final long debounceMillis;
+
+    private final ScheduledExecutorService worker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "contacts-saver");
+        // Never keeps the app alive, as exiting flushes explicitly
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Guarded by this
+    private @Nullable ReadOnlyContacts pending = null;
+    private @Nullable ScheduledFuture<?> scheduledWrite = null;
+    private long retryDelayMillis = AsyncContactsStorage.INITIAL_RETRY_DELAY_MILLIS;
+    private @Nullable IOException failure = null;
+
+    /**
+     * Constructs with the specified values.
+     *
+     * @param delegate The storage that is actually written to.
+     * @param policy When to write saved contacts, other than
+     *     {@link ContactsSavePolicy#EVERY_COMMAND}.
+     * @param debounceMillis How long to wait for further saves before writing,
+     *     under {@link ContactsSavePolicy#DEBOUNCE}.
+     */
+    public AsyncContactsStorage(ContactsStorage delegate, ContactsSavePolicy policy, long debounceMillis) {
+        requireNonNull(delegate);
+        requireNonNull(policy);
+        checkArgument(
+            policy != ContactsSavePolicy.EVERY_COMMAND,
+            "Contacts saved after every command are written synchronously"
+        );
+
+        this.delegate = delegate;
+        this.policy = policy;
+        this.debounceMillis = debounceMillis;
+    }
+
+    @Override
+    public Path getContactsPath() {
+        return this.delegate.getContactsPath();
+    }
+
+    /**
+     * Reads from the underlying storage, once any outstanding write has
+     * finished.
+     *
+     * @throws DataLoadingException If the outstanding write fails, as the
+     *     file would not hold the latest contacts.
+     */
+    @Override
+    public Optional<Contacts> readContacts() throws DataLoadingException {
+        try {
+            this.flushContacts();
+        } catch (IOException e) {
+            throw new DataLoadingException(e);
+        }
+        return this.delegate.readContacts();
+    }
+
+    /**
+     * Takes a snapshot of the specified {@link ReadOnlyContacts} to be written
+     * in the background.
+     *
+     * Background write failures are logged and retried.
+     *
+     * @throws IOException If an earlier background write failed and has not
+     *     been retried successfully since. The specified contacts are still
+     *     written in the background.
+     */
+    @Override
+    public synchronized void saveContacts(ReadOnlyContacts contacts) throws IOException {
+        this.pending = new Snapshot(contacts);
+
+        if (this.policy == ContactsSavePolicy.DEBOUNCE) {
+            if (this.scheduledWrite != null) {
+                this.scheduledWrite.cancel(false);
+            }
+            this.scheduledWrite = this.worker.schedule(
+                this::writePending,
+                this.debounceMillis,
+                TimeUnit.MILLISECONDS
+            );
+        }
+
+        if (this.failure != null) {
+            IOException reported = this.failure;
+            this.failure = null;
+            throw reported;
+        }
+    }
+
+    /**
+     * Writes the latest snapshot, if it has not been written yet, then
+     * flushes the underlying storage, and waits for that to finish.
+     *
+     * @throws IOException If the write fails. The snapshot stays pending.
+     */
+    @Override
+    public void flushContacts() throws IOException {
+        synchronized (this) {
+            if (this.scheduledWrite != null) {
+                this.scheduledWrite.cancel(false);
+                this.scheduledWrite = null;
+            }
+        }
+
+        // Runs on the worker, so it cannot overlap with a write in progress
+        Future<Void> flush = this.worker.submit(() -> {
+            @Nullable ReadOnlyContacts snapshot = this.takePending();
+            if (snapshot != null) {
+                this.write(snapshot);
+            }
+            this.delegate.flushContacts();
+            return null;
+        });
+
+        try {
+            flush.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while flushing contacts");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException(e.getCause());
+        }
+    }
+
+    private void writePending() {
+        @Nullable ReadOnlyContacts snapshot = this.takePending();
+        if (snapshot == null) {
+            return;
+        }
+
+        try {
+            this.write(snapshot);
+        } catch (IOException e) {
+            synchronized (this) {
+                this.failure = e;
+                long delay = this.retryDelayMillis;
+                this.retryDelayMillis = Math.min(delay * 2, AsyncContactsStorage.MAX_RETRY_DELAY_MILLIS);
+                logger.warning(String.format(
+                    "Failed to save contacts, retrying in %d ms: %s",
+                    delay,
+                    StringUtil.getDetails(e)
+                ));
+
+                if (this.scheduledWrite != null) {
+                    // A newer save has already scheduled its own write
+                    return;
+                }
+                this.scheduledWrite = this.worker.schedule(this::writePending, delay, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    /**
+     * Writes the specified snapshot. If that fails, the snapshot is pending
+     * again, unless a newer one has replaced it.
+     */
+    private void write(ReadOnlyContacts snapshot) throws IOException {
+        try {
+            this.delegate.saveContacts(snapshot);
+        } catch (IOException e) {
+            synchronized (this) {
+                if (this.pending == null) {
+                    this.pending = snapshot;
+                }
+            }
+            throw e;
+        }
+
+        synchronized (this) {
+            this.retryDelayMillis = AsyncContactsStorage.INITIAL_RETRY_DELAY_MILLIS;
+            this.failure = null;
+        }
+    }
+
+    private synchronized @Nullable ReadOnlyContacts takePending() {
+        @Nullable ReadOnlyContacts snapshot = this.pending;
+        this.pending = null;
+        this.scheduledWrite = null;
+        return snapshot;
+    }
+
+    /**
+     * Immutable copy of {@link ReadOnlyContacts}, which is safe to read from
+     * another thread.
+     */
+    private static class Snapshot implements ReadOnlyContacts {
+        private final ObservableList<Contact> contacts;
+        private final long version;
+
+        Snapshot(ReadOnlyContacts contacts) {
+            // Contacts are immutable, so copying the list suffices
+            this.contacts = FXCollections.unmodifiableObservableList(
+                FXCollections.observableList(new ArrayList<>(contacts.getUnmodifiableList()))
+            );
+            this.version = contacts.getVersion();
+        }
+
+        @Override
+        public ObservableList<Contact> getUnmodifiableList() {
+            return this.contacts;
+        }
+
+        @Override
+        public long getVersion() {
+            return this.version;
+        }
+    }
+}
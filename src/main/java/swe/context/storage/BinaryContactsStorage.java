@@ -0,0 +1,490 @@
+package swe.context.storage;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+import swe.context.commons.core.LogsCenter;
+import swe.context.commons.exceptions.DataLoadingException;
+import swe.context.commons.exceptions.IllegalValueException;
+import swe.context.commons.util.Durability;
+import swe.context.commons.util.FileUtil;
+import swe.context.commons.util.StringUtil;
+import swe.context.logic.Messages;
+import swe.context.model.Contacts;
+import swe.context.model.ReadOnlyContacts;
+import swe.context.model.alternate.AlternateContact;
+import swe.context.model.contact.Contact;
+import swe.context.model.contact.Email;
+import swe.context.model.contact.LazyContact;
+import swe.context.model.contact.Name;
+import swe.context.model.contact.Note;
+import swe.context.model.contact.Phone;
+import swe.context.model.tag.Tag;
+
+
+
+/**
+ * Handles reading and saving {@link Contacts} to and from a contacts storage
+ * file in a compact binary format, which is smaller and loads faster than
+ * JSON.
+ *
+ * The format, with all integers big-endian:
+ * <pre>
+ * int magic ("CTXB")    int version
+ * int contact count     int string count
+ * string count x string, each an int byte length then UTF-8 bytes
+ * contact count x contact:
+ *     name, phone, email, note, each a string as above
+ *     int tag count, then that many indexes into the strings
+ *     int alternate count, then that many indexes into the strings
+ * int CRC-32 of everything before it
+ * </pre>
+ * Tags and alternates are shared by many contacts, so are stored once in the
+ * string table, and each is validated once however many contacts share it.
+ * A matching checksum only shows the file was not damaged since it was
+ * written, so every field is still validated as JSON's are.
+ *
+ * Large files are read through a memory mapping rather than copied onto the
+ * heap first, with each string copied out only as it is decoded.
+ *
+ * Contacts can be read lazily, as {@link LazyContact}s that hold only their
+ * name and load the rest from the file when needed, which is then kept
+ * mapped or in memory while they exist. Files are only ever replaced, never
+ * changed in place, so the contents they load from stay the same.
+ *
+ * The format holds exactly what a {@link Contact} does, so reading from one
+ * {@link ContactsStorage} and saving to another converts losslessly.
+ */
+public class BinaryContactsStorage implements ContactsStorage {
+    /** File extension that selects this format. */
+    public static final String EXTENSION = ".bin";
+
+    private static final Logger logger = LogsCenter.getLogger(BinaryContactsStorage.class);
+
+    private static final int MAGIC = 0x43545842;
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 4 * Integer.BYTES;
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final Path path;
+    private final Durability durability;
+    private final boolean isLazy;
+
+    /**
+     * Constructs with the specified values, reading every field of every
+     * contact up front.
+     *
+     * @param durability How far each save is forced to disk.
+     */
+    public BinaryContactsStorage(Path path, Durability durability) {
+        this(path, durability, false);
+    }
+
+    /**
+     * Constructs with the specified values.
+     *
+     * @param durability How far each save is forced to disk.
+     * @param isLazy Whether to read only the names of contacts up front, as
+     *     {@link LazyContact}s that load the rest from the file when needed.
+     */
+    public BinaryContactsStorage(Path path, Durability durability, boolean isLazy) {
+        requireNonNull(path);
+        requireNonNull(durability);
+
+        this.path = path;
+        this.durability = durability;
+        this.isLazy = isLazy;
+    }
+
+    /**
+     * Returns whether the specified path selects this format.
+     */
+    public static boolean isBinaryPath(Path path) {
+        return path.getFileName().toString().endsWith(BinaryContactsStorage.EXTENSION);
+    }
+
+    @Override
+    public Path getContactsPath() {
+        return this.path;
+    }
+
+    @Override
+    public Optional<Contacts> readContacts() throws DataLoadingException {
+        if (!Files.exists(this.path)) {
+            return Optional.empty();
+        }
+        logger.info("Binary file " + this.path + " found.");
+
+        try {
+            Contacts contacts = BinaryContactsStorage.read(FileUtil.readToBuffer(this.path), this.isLazy);
+            return Optional.of(contacts);
+        } catch (IOException e) {
+            logger.warning("Error reading from binary file " + this.path + ": " + e);
+            throw new DataLoadingException(e);
+        } catch (IllegalValueException e) {
+            logger.info(String.format(
+                "Found illegal values after reading contacts storage binary file."
+                + "\nPath: %s"
+                + "\nDetails: %s",
+                this.path,
+                StringUtil.getDetails(e)
+            ));
+            throw new DataLoadingException(e);
+        }
+    }
+
+    @Override
+    public void saveContacts(ReadOnlyContacts contacts) throws IOException {
+        List<Contact> contactList = contacts.getUnmodifiableList();
+        FileUtil.writeAtomically(
+            this.path,
+            output -> BinaryContactsStorage.write(contactList, output),
+            this.durability
+        );
+    }
+
+    /**
+     * Does nothing, as saving writes before returning.
+     */
+    @Override
+    public void flushContacts() {}
+
+    /**
+     * Reads {@link Contacts} in this format from the specified buffer's
+     * remaining bytes.
+     *
+     * @throws IOException If the bytes are not in this format, or fail the
+     *     checksum.
+     * @throws IllegalValueException If any field is invalid, or any contacts
+     *     share a name.
+     */
+    static Contacts read(ByteBuffer buffer) throws IOException, IllegalValueException {
+        return BinaryContactsStorage.read(buffer, false);
+    }
+
+    /**
+     * Reads {@link Contacts} in this format from the specified buffer's
+     * remaining bytes, as {@link #read(ByteBuffer)} does.
+     *
+     * @param isLazy Whether to read only names up front, as
+     *     {@link LazyContact}s that load the rest from the buffer when
+     *     needed. The buffer's contents must then never change.
+     */
+    static Contacts read(ByteBuffer buffer, boolean isLazy) throws IOException, IllegalValueException {
+        ByteBuffer data = buffer.slice();
+        if (data.remaining() < BinaryContactsStorage.HEADER_BYTES + Integer.BYTES
+                || data.getInt(0) != BinaryContactsStorage.MAGIC) {
+            throw new IOException("Not a contacts binary file");
+        }
+
+        // Checked up front, so that no counts are trusted before then
+        int checksumPosition = data.limit() - Integer.BYTES;
+        CRC32 checksum = new CRC32();
+        checksum.update(data.duplicate().limit(checksumPosition));
+        if (data.getInt(checksumPosition) != (int) checksum.getValue()) {
+            throw new IOException("Contacts binary file checksum mismatch");
+        }
+        data.limit(checksumPosition);
+
+        try {
+            return BinaryContactsStorage.readChecked(data, isLazy);
+        } catch (BufferUnderflowException e) {
+            throw new IOException("Contacts binary file ends early", e);
+        }
+    }
+
+    /**
+     * Reads {@link Contacts} from the specified buffer, already checksummed.
+     *
+     * Even when reading lazily, every count, string index and field is
+     * checked up front, so loading a {@link LazyContact} later cannot fail.
+     */
+    private static Contacts readChecked(ByteBuffer data, boolean isLazy) throws IOException, IllegalValueException {
+        data.getInt();
+        int version = data.getInt();
+        if (version != BinaryContactsStorage.VERSION) {
+            throw new IOException("Unsupported contacts binary file version " + version);
+        }
+        FieldReader fields = new FieldReader(data);
+        int contactCount = fields.readCount();
+        int stringCount = fields.readCount();
+
+        String[] table = new String[stringCount];
+        for (int i = 0; i < stringCount; i++) {
+            table[i] = fields.read();
+        }
+        DetailReader details = new DetailReader(data, table);
+
+        List<Contact> contacts = new ArrayList<>(contactCount);
+        Set<Name> names = new HashSet<>(contactCount * 4 / 3 + 1);
+        for (int i = 0; i < contactCount; i++) {
+            int position = data.position();
+            String nameValue = fields.read();
+            if (!Name.isValid(nameValue)) {
+                throw new IllegalValueException(Messages.NAME_INVALID);
+            }
+            Name name = new Name(nameValue);
+            if (!names.add(name)) {
+                throw new IllegalValueException(Messages.CONVERT_CONTACTS_DUPLICATE);
+            }
+
+            if (isLazy) {
+                details.check(fields);
+                contacts.add(new LazyContact(name, details, position));
+            } else {
+                contacts.add(details.read(fields, name));
+            }
+        }
+        if (data.hasRemaining()) {
+            throw new IOException("Unexpected data after contacts");
+        }
+
+        Contacts modelContacts = new Contacts();
+        modelContacts.setContacts(contacts);
+        return modelContacts;
+    }
+
+    /**
+     * Writes the specified {@link Contact}s in this format to the specified
+     * stream.
+     */
+    static void write(List<Contact> contacts, OutputStream output) throws IOException {
+        Map<String, Integer> ids = new HashMap<>();
+        List<String> table = new ArrayList<>();
+        for (Contact contact : contacts) {
+            for (Tag tag : contact.getTags()) {
+                ids.computeIfAbsent(tag.value, value -> BinaryContactsStorage.append(table, value));
+            }
+            for (AlternateContact alternate : contact.getAlternates()) {
+                ids.computeIfAbsent(alternate.value, value -> BinaryContactsStorage.append(table, value));
+            }
+        }
+
+        CRC32 checksum = new CRC32();
+        // Buffered ahead of the checksum, which is then updated a block at a time
+        DataOutputStream data = new DataOutputStream(new BufferedOutputStream(
+            new CheckedOutputStream(output, checksum),
+            BinaryContactsStorage.BUFFER_SIZE
+        ));
+        data.writeInt(BinaryContactsStorage.MAGIC);
+        data.writeInt(BinaryContactsStorage.VERSION);
+        data.writeInt(contacts.size());
+        data.writeInt(table.size());
+        for (String value : table) {
+            BinaryContactsStorage.writeString(data, value);
+        }
+
+        for (Contact contact : contacts) {
+            BinaryContactsStorage.writeString(data, contact.getName().value);
+            BinaryContactsStorage.writeString(data, contact.getPhone().value);
+            BinaryContactsStorage.writeString(data, contact.getEmail().value);
+            BinaryContactsStorage.writeString(data, contact.getNote().value);
+
+            data.writeInt(contact.getTags().size());
+            for (Tag tag : contact.getTags()) {
+                data.writeInt(ids.get(tag.value));
+            }
+            data.writeInt(contact.getAlternates().size());
+            for (AlternateContact alternate : contact.getAlternates()) {
+                data.writeInt(ids.get(alternate.value));
+            }
+        }
+
+        data.flush();
+        data.writeInt((int) checksum.getValue());
+        data.flush();
+    }
+
+    private static int append(List<String> table, String value) {
+        table.add(value);
+        return table.size() - 1;
+    }
+
+    private static void writeString(DataOutputStream data, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        data.writeInt(bytes.length);
+        data.write(bytes);
+    }
+
+    /**
+     * Reads the fields after the name of each contact, sharing {@link Tag}s
+     * and {@link AlternateContact}s between contacts.
+     *
+     * Also loads {@link LazyContact}s from the buffer, which is safe from any
+     * thread as it only reads the buffer through its own duplicates.
+     */
+    private static class DetailReader implements LazyContact.Source {
+        private final ByteBuffer data;
+        private final String[] table;
+
+        // Created when first needed, as a string may be only a tag or only an
+        // alternate. Racing threads at worst create equal instances
+        private final Tag[] tags;
+        private final AlternateContact[] alternates;
+
+        DetailReader(ByteBuffer data, String[] table) {
+            this.data = data.duplicate();
+            this.table = table;
+            this.tags = new Tag[table.length];
+            this.alternates = new AlternateContact[table.length];
+        }
+
+        Contact read(FieldReader fields, Name name) throws IOException, IllegalValueException {
+            Phone phone = new Phone(DetailReader.readPhone(fields));
+            Email email = new Email(DetailReader.readEmail(fields));
+            Note note = new Note(fields.read());
+
+            int tagCount = fields.readCount();
+            Set<Tag> contactTags = new HashSet<>(tagCount * 4 / 3 + 1);
+            for (int j = 0; j < tagCount; j++) {
+                contactTags.add(this.getTag(fields.readIndex(this.table.length)));
+            }
+
+            int alternateCount = fields.readCount();
+            Set<AlternateContact> contactAlternates = new HashSet<>(alternateCount * 4 / 3 + 1);
+            for (int j = 0; j < alternateCount; j++) {
+                contactAlternates.add(this.getAlternate(fields.readIndex(this.table.length)));
+            }
+
+            return new Contact(name, phone, email, note, contactTags, contactAlternates);
+        }
+
+        /**
+         * Reads past the fields after a name, checking them as {@link #read}
+         * would, without creating a {@link Contact}.
+         */
+        void check(FieldReader fields) throws IOException, IllegalValueException {
+            DetailReader.readPhone(fields);
+            DetailReader.readEmail(fields);
+            fields.skip();
+
+            int tagCount = fields.readCount();
+            for (int j = 0; j < tagCount; j++) {
+                this.getTag(fields.readIndex(this.table.length));
+            }
+            int alternateCount = fields.readCount();
+            for (int j = 0; j < alternateCount; j++) {
+                this.getAlternate(fields.readIndex(this.table.length));
+            }
+        }
+
+        /**
+         * Loads the contact whose name starts at the specified position.
+         */
+        @Override
+        public Contact load(Name name, int position) {
+            FieldReader fields = new FieldReader(this.data.duplicate().position(position));
+            try {
+                fields.skip();
+                return this.read(fields, name);
+            } catch (IOException | IllegalValueException e) {
+                // Every field was checked when the contact was first read
+                throw new IllegalStateException("Contacts binary data changed after reading", e);
+            }
+        }
+
+        private Tag getTag(int id) throws IllegalValueException {
+            if (this.tags[id] == null) {
+                if (!Tag.isValid(this.table[id])) {
+                    throw new IllegalValueException(Messages.tagInvalid(this.table[id]));
+                }
+                this.tags[id] = Tag.of(this.table[id]);
+            }
+            return this.tags[id];
+        }
+
+        private AlternateContact getAlternate(int id) throws IllegalValueException {
+            if (this.alternates[id] == null) {
+                if (!AlternateContact.isValid(this.table[id])) {
+                    throw new IllegalValueException(Messages.alternateContactInvalid(this.table[id]));
+                }
+                this.alternates[id] = AlternateContact.of(this.table[id]);
+            }
+            return this.alternates[id];
+        }
+
+        private static String readPhone(FieldReader fields) throws IOException, IllegalValueException {
+            String phone = fields.read();
+            if (!Phone.isValid(phone)) {
+                throw new IllegalValueException(Messages.PHONE_INVALID);
+            }
+            return phone;
+        }
+
+        private static String readEmail(FieldReader fields) throws IOException, IllegalValueException {
+            String email = fields.read();
+            if (!Email.isValid(email)) {
+                throw new IllegalValueException(Messages.EMAIL_INVALID);
+            }
+            return email;
+        }
+    }
+
+    /**
+     * Reads length-prefixed strings and counts, rejecting any larger than the
+     * rest of the buffer could hold.
+     */
+    private static class FieldReader {
+        private final ByteBuffer data;
+        private byte[] bytes = new byte[256];
+
+        FieldReader(ByteBuffer data) {
+            this.data = data;
+        }
+
+        String read() throws IOException {
+            int byteCount = this.readCount();
+            if (this.data.hasArray()) {
+                int offset = this.data.arrayOffset() + this.data.position();
+                this.data.position(this.data.position() + byteCount);
+                return new String(this.data.array(), offset, byteCount, StandardCharsets.UTF_8);
+            }
+
+            if (byteCount > this.bytes.length) {
+                this.bytes = new byte[Math.max(byteCount, this.bytes.length * 2)];
+            }
+            this.data.get(this.bytes, 0, byteCount);
+            return new String(this.bytes, 0, byteCount, StandardCharsets.UTF_8);
+        }
+
+        void skip() throws IOException {
+            int byteCount = this.readCount();
+            this.data.position(this.data.position() + byteCount);
+        }
+
+        int readCount() throws IOException {
+            int count = this.data.getInt();
+            if (count < 0 || count > this.data.remaining()) {
+                throw new IOException("Invalid count in contacts binary file: " + count);
+            }
+            return count;
+        }
+
+        int readIndex(int size) throws IOException {
+            int index = this.data.getInt();
+            if (index < 0 || index >= size) {
+                throw new IOException("Invalid string index in contacts binary file: " + index);
+            }
+            return index;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package swe.context.storage;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.logging.Logger;
+import java.util.zip.CRC32C;
+
+import swe.context.commons.core.LogsCenter;
+import swe.context.commons.exceptions.IllegalValueException;
+import swe.context.commons.util.Durability;
+import swe.context.commons.util.FileUtil;
+import swe.context.commons.util.StringUtil;
+import swe.context.model.Contacts;
+import swe.context.model.contact.Contact;
+
+
+
+/**
+ * A cache of the {@link Contact}s in a contacts storage file, already
+ * validated, kept next to that file.
+ *
+ * The snapshot records the size and CRC-32C of the file it was taken from,
+ * followed by the {@link Contact}s in the format of
+ * {@link BinaryContactsStorage}. It is only used while the file still has
+ * that size and checksum, so a file changed by anything else is read and
+ * validated in full as usual.
+ *
+ * Being only a cache, a snapshot that is missing, stale or unreadable is
+ * never an error, and it is not forced to disk.
+ */
+class ContactsSnapshot {
+    private static final Logger logger = LogsCenter.getLogger(ContactsSnapshot.class);
+
+    private static final String SUFFIX = ".snapshot";
+    private static final int MAGIC = 0x43545853;
+    private static final int VERSION = 1;
+
+    private final Path path;
+
+    /**
+     * Constructs for the specified contacts storage file.
+     */
+    public ContactsSnapshot(Path contactsPath) {
+        requireNonNull(contactsPath);
+
+        this.path = contactsPath.resolveSibling(contactsPath.getFileName() + ContactsSnapshot.SUFFIX);
+    }
+
+    public Path getPath() {
+        return this.path;
+    }
+
+    /**
+     * Returns the CRC-32C of the specified existing file's contents.
+     */
+    public static int checksumOf(Path file) throws IOException {
+        CRC32C checksum = new CRC32C();
+        checksum.update(FileUtil.readToBuffer(file));
+        return (int) checksum.getValue();
+    }
+
+    /**
+     * Returns the {@link Contacts} in this snapshot if it was taken from a
+     * file of the specified size and checksum, or an empty {@link Optional}
+     * otherwise.
+     */
+    public Optional<Contacts> read(long fileSize, int fileChecksum) {
+        if (!Files.exists(this.path)) {
+            return Optional.empty();
+        }
+
+        try {
+            ByteBuffer buffer = FileUtil.readToBuffer(this.path);
+            if (buffer.remaining() < 2 * Integer.BYTES + Long.BYTES + Integer.BYTES
+                    || buffer.getInt() != ContactsSnapshot.MAGIC
+                    || buffer.getInt() != ContactsSnapshot.VERSION) {
+                logger.info("Ignoring unrecognised contacts snapshot " + this.path + ".");
+                return Optional.empty();
+            }
+            if (buffer.getLong() != fileSize || buffer.getInt() != fileChecksum) {
+                logger.info("Contacts file changed since snapshot " + this.path + " was taken.");
+                return Optional.empty();
+            }
+
+            return Optional.of(BinaryContactsStorage.read(buffer));
+        } catch (IOException | IllegalValueException | BufferUnderflowException e) {
+            logger.warning("Ignoring unreadable contacts snapshot " + this.path + ": " + StringUtil.getDetails(e));
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Replaces this snapshot with one of the specified {@link Contact}s, as
+     * taken from a file of the specified size and checksum.
+     */
+    public void write(List<Contact> contacts, long fileSize, int fileChecksum) throws IOException {
+        FileUtil.writeAtomically(
+            this.path,
+            output -> {
+                DataOutputStream data = new DataOutputStream(output);
+                data.writeInt(ContactsSnapshot.MAGIC);
+                data.writeInt(ContactsSnapshot.VERSION);
+                data.writeLong(fileSize);
+                data.writeInt(fileChecksum);
+                BinaryContactsStorage.write(contacts, data);
+            },
+            Durability.NONE
+        );
+    }
+}
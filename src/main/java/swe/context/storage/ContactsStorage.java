@@ -36,4 +36,14 @@ public interface ContactsStorage {
      * @throws IOException If writing data to the file fails.
      */
     public void saveContacts(ReadOnlyContacts contacts) throws IOException;
+
+    /**
+     * Blocks until every {@link ReadOnlyContacts} passed to
+     * {@link #saveContacts(ReadOnlyContacts)} so far has been written.
+     *
+     * Storages that write before returning from saving need not do anything.
+     *
+     * @throws IOException If writing data to the file fails.
+     */
+    public void flushContacts() throws IOException;
 }
@@ -0,0 +1,453 @@
+package swe.context.storage;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.logging.Logger;
+
+import swe.context.annotation.Nullable;
+import swe.context.commons.core.LogsCenter;
+import swe.context.commons.exceptions.DataLoadingException;
+import swe.context.commons.exceptions.IllegalValueException;
+import swe.context.commons.util.Durability;
+import swe.context.commons.util.JsonUtil;
+import swe.context.commons.util.StringUtil;
+import swe.context.model.Contacts;
+import swe.context.model.JournalSyncPolicy;
+import swe.context.model.ReadOnlyContacts;
+import swe.context.model.contact.Contact;
+import swe.context.model.contact.Name;
+
+
+
+/**
+ * Handles reading and saving {@link Contacts} as a contacts storage JSON
+ * file, plus a journal of the changes made since that file was written.
+ *
+ * Saving appends a line per changed {@link Contact} to the journal, rather
+ * than rewriting the whole file, so it costs time and space proportional to
+ * the change. Reading replays the journal over the file. Once the journal
+ * grows past a threshold, it is compacted into the file in the background.
+ *
+ * Changes are found by comparing which {@link Contact} instances were saved
+ * last time, so this relies on {@link Contact}s being immutable.
+ */
+public class JournaledContactsStorage implements ContactsStorage {
+    private static final Logger logger = LogsCenter.getLogger(JournaledContactsStorage.class);
+
+    private static final String JOURNAL_SUFFIX = ".journal";
+    private static final String COMPACTING_SUFFIX = ".journal.compacting";
+    private static final byte LINE_END = '\n';
+
+    private final Path path;
+    private final Path journalPath;
+    private final Path compactingPath;
+    private final boolean isCompact;
+    private final int compressionLevel;
+    private final Durability durability;
+    private final JournalSyncPolicy syncPolicy;
+    private final long compactionBytes;
+
+    private final ExecutorService compactor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "contacts-compactor");
+        // Compaction is safe to abandon, as replaying is idempotent
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Guarded by this. Contacts as last saved or read, or null if unknown
+    private @Nullable Contact[] saved = null;
+    private long journalBytes = 0;
+    private @Nullable Future<?> compaction = null;
+
+    /**
+     * Constructs with the specified values.
+     *
+     * @param path Path of the contacts storage JSON file. The journal is kept
+     *     next to it.
+     * @param isCompact Whether to write the file without indentation and line
+     *     breaks.
+     * @param compressionLevel How hard to compress the file, if its name
+     *     selects gzipped JSON. The journal is never compressed.
+     * @param durability How far writes of the whole file are forced to disk.
+     * @param syncPolicy When appended changes are forced to disk.
+     * @param compactionBytes Journal size past which it is compacted.
+     */
+    public JournaledContactsStorage(
+        Path path,
+        boolean isCompact,
+        int compressionLevel,
+        Durability durability,
+        JournalSyncPolicy syncPolicy,
+        long compactionBytes
+    ) {
+        requireNonNull(path);
+        requireNonNull(syncPolicy);
+
+        this.path = path;
+        this.journalPath = path.resolveSibling(path.getFileName() + JournaledContactsStorage.JOURNAL_SUFFIX);
+        this.compactingPath = path.resolveSibling(path.getFileName() + JournaledContactsStorage.COMPACTING_SUFFIX);
+        this.isCompact = isCompact;
+        this.compressionLevel = compressionLevel;
+        this.durability = durability;
+        this.syncPolicy = syncPolicy;
+        this.compactionBytes = compactionBytes;
+    }
+
+    @Override
+    public Path getContactsPath() {
+        return this.path;
+    }
+
+    public Path getJournalPath() {
+        return this.journalPath;
+    }
+
+    /**
+     * Replays any journal left next to the specified contacts JSON file into
+     * that file, then deletes the journal.
+     *
+     * For when journaling is turned off, so that changes only recorded in the
+     * journal are neither ignored nor replayed over later saves.
+     *
+     * @return Whether there was a journal to compact.
+     * @throws DataLoadingException If the file or journal cannot be read.
+     * @throws IOException If the file cannot be written.
+     */
+    public static boolean compactLeftoverJournal(
+        Path path,
+        boolean isCompact,
+        int compressionLevel,
+        Durability durability
+    ) throws DataLoadingException, IOException {
+        JournaledContactsStorage storage = new JournaledContactsStorage(
+            path,
+            isCompact,
+            compressionLevel,
+            durability,
+            JournalSyncPolicy.EVERY_SAVE,
+            Long.MAX_VALUE
+        );
+        if (!Files.exists(storage.journalPath) && !Files.exists(storage.compactingPath)) {
+            return false;
+        }
+
+        Contacts contacts = storage.readContacts().get();
+        synchronized (storage) {
+            // Saving with nothing remembered writes the whole file and deletes the journal
+            storage.saved = null;
+        }
+        storage.saveContacts(contacts);
+        return true;
+    }
+
+    @Override
+    public synchronized Optional<Contacts> readContacts() throws DataLoadingException {
+        try {
+            this.awaitCompaction();
+            if (ShardedContactsStorage.mergeLeftoverShards(
+                this.path,
+                this.isCompact,
+                this.compressionLevel,
+                this.durability
+            )) {
+                logger.info("Merged leftover shards into JSON file " + this.path + ".");
+            }
+        } catch (IOException e) {
+            logger.warning("Failed to merge leftover shards into " + this.path + ": " + e);
+            throw new DataLoadingException(e);
+        }
+
+        boolean hasFile = Files.exists(this.path);
+        boolean hasJournal = Files.exists(this.journalPath) || Files.exists(this.compactingPath);
+        if (!hasFile && !hasJournal) {
+            return Optional.empty();
+        }
+
+        Contacts contacts = new Contacts();
+        try {
+            if (hasFile) {
+                contacts = JsonContactsReader.read(this.path);
+            }
+
+            if (hasJournal) {
+                Map<Name, Contact> contactsByName = new LinkedHashMap<>();
+                for (Contact contact : contacts.getUnmodifiableList()) {
+                    contactsByName.put(contact.getName(), contact);
+                }
+                // Left behind if compacting was interrupted, and older than the journal
+                this.replay(this.compactingPath, contactsByName);
+                this.journalBytes = this.replay(this.journalPath, contactsByName);
+
+                contacts = new Contacts();
+                contacts.setContacts(new ArrayList<>(contactsByName.values()));
+            } else {
+                this.journalBytes = 0;
+            }
+        } catch (IOException e) {
+            logger.warning("Error reading from jsonFile file " + this.path + ": " + e);
+            throw new DataLoadingException(e);
+        } catch (IllegalValueException e) {
+            logger.info(String.format(
+                "Found illegal values after reading contacts storage JSON file and journal."
+                + "\nPath: %s"
+                + "\nDetails: %s",
+                this.path,
+                StringUtil.getDetails(e)
+            ));
+            throw new DataLoadingException(e);
+        }
+
+        this.remember(contacts.getUnmodifiableList());
+        return Optional.of(contacts);
+    }
+
+    /**
+     * Appends the changes since contacts were last saved or read to the
+     * journal.
+     *
+     * If contacts were neither, as there was nothing to read, the whole file
+     * is written instead.
+     */
+    @Override
+    public synchronized void saveContacts(ReadOnlyContacts contacts) throws IOException {
+        List<Contact> contactList = contacts.getUnmodifiableList();
+        if (this.saved == null) {
+            this.awaitCompaction();
+            this.writeFile(contactList);
+            Files.deleteIfExists(this.compactingPath);
+            Files.deleteIfExists(this.journalPath);
+            this.journalBytes = 0;
+            this.remember(contactList);
+            return;
+        }
+
+        List<JsonJournalRecord> records = this.diff(contactList);
+        if (!records.isEmpty()) {
+            StringBuilder lines = new StringBuilder();
+            for (JsonJournalRecord record : records) {
+                lines.append(JsonUtil.toCompactJsonString(record)).append((char) JournaledContactsStorage.LINE_END);
+            }
+
+            try {
+                this.append(lines.toString().getBytes(StandardCharsets.UTF_8));
+            } catch (IOException e) {
+                // The journal may now end partway through a line, so start afresh
+                this.saved = null;
+                throw e;
+            }
+        }
+        this.remember(contactList);
+
+        if (this.journalBytes > this.compactionBytes && (this.compaction == null || this.compaction.isDone())) {
+            this.startCompaction();
+        }
+    }
+
+    /**
+     * Waits for any compaction in progress to finish.
+     */
+    @Override
+    public synchronized void flushContacts() throws IOException {
+        this.awaitCompaction();
+    }
+
+    /**
+     * Returns records of the changes from the last saved {@link Contact}s to
+     * the specified ones.
+     *
+     * The model edits in place and adds at the end, so most positions still
+     * hold the same instance, and only the rest need comparing by identity.
+     */
+    private List<JsonJournalRecord> diff(List<Contact> contacts) {
+        Set<Contact> unmatchedSaved = Collections.newSetFromMap(new IdentityHashMap<>());
+        List<Contact> unmatched = new ArrayList<>();
+        int commonSize = Math.min(contacts.size(), this.saved.length);
+        for (int i = 0; i < commonSize; i++) {
+            Contact contact = contacts.get(i);
+            if (contact != this.saved[i]) {
+                unmatched.add(contact);
+                unmatchedSaved.add(this.saved[i]);
+            }
+        }
+        unmatched.addAll(contacts.subList(commonSize, contacts.size()));
+        unmatchedSaved.addAll(Arrays.asList(this.saved).subList(commonSize, this.saved.length));
+
+        List<Contact> added = new ArrayList<>();
+        for (Contact contact : unmatched) {
+            // Otherwise only moved
+            if (!unmatchedSaved.remove(contact)) {
+                added.add(contact);
+            }
+        }
+        Map<Name, Contact> removedByName = new HashMap<>();
+        for (Contact contact : unmatchedSaved) {
+            removedByName.put(contact.getName(), contact);
+        }
+
+        List<JsonJournalRecord> puts = new ArrayList<>(added.size());
+        for (Contact contact : added) {
+            // Edits replace a contact with one of the same name
+            if (removedByName.remove(contact.getName()) != null) {
+                puts.add(JsonJournalRecord.update(contact));
+            } else {
+                puts.add(JsonJournalRecord.add(contact));
+            }
+        }
+
+        List<JsonJournalRecord> records = new ArrayList<>(removedByName.size() + puts.size());
+        for (Contact contact : removedByName.values()) {
+            records.add(JsonJournalRecord.remove(contact));
+        }
+        records.addAll(puts);
+        return records;
+    }
+
+    private void remember(List<Contact> contacts) {
+        this.saved = contacts.toArray(new Contact[0]);
+    }
+
+    private void append(byte[] bytes) throws IOException {
+        try (FileChannel channel = FileChannel.open(
+            this.journalPath,
+            StandardOpenOption.CREATE,
+            StandardOpenOption.WRITE,
+            StandardOpenOption.APPEND
+        )) {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            if (this.syncPolicy == JournalSyncPolicy.EVERY_SAVE) {
+                channel.force(false);
+            }
+        }
+        this.journalBytes += bytes.length;
+    }
+
+    /**
+     * Applies the records in the specified journal, if it exists, to the
+     * specified {@link Contact}s keyed by name.
+     *
+     * A last line without a line end was only partly appended, so it is
+     * ignored and cut off.
+     *
+     * @return The length of the journal's complete lines.
+     */
+    private long replay(Path journal, Map<Name, Contact> contactsByName)
+            throws DataLoadingException, IllegalValueException {
+        if (!Files.exists(journal)) {
+            return 0;
+        }
+
+        byte[] bytes;
+        try {
+            bytes = Files.readAllBytes(journal);
+        } catch (IOException e) {
+            logger.warning("Error reading from journal " + journal + ": " + e);
+            throw new DataLoadingException(e);
+        }
+
+        int start = 0;
+        for (int end = 0; end < bytes.length; end++) {
+            // Line ends never occur inside multi-byte UTF-8 characters
+            if (bytes[end] != JournaledContactsStorage.LINE_END) {
+                continue;
+            }
+            if (end > start) {
+                String line = new String(bytes, start, end - start, StandardCharsets.UTF_8);
+                try {
+                    JsonUtil.fromJsonString(line, JsonJournalRecord.class).applyTo(contactsByName);
+                } catch (IOException e) {
+                    logger.warning("Error parsing journal " + journal + ": " + e);
+                    throw new DataLoadingException(e);
+                }
+            }
+            start = end + 1;
+        }
+
+        if (start < bytes.length) {
+            logger.warning(String.format(
+                "Ignoring incomplete last record of journal %s.",
+                journal
+            ));
+            try (FileChannel channel = FileChannel.open(journal, StandardOpenOption.WRITE)) {
+                channel.truncate(start);
+            } catch (IOException e) {
+                throw new DataLoadingException(e);
+            }
+        }
+        return start;
+    }
+
+    /**
+     * Moves the journal aside and writes the last saved {@link Contact}s to
+     * the file in the background, after which the moved journal is deleted.
+     */
+    private void startCompaction() {
+        // A previously failed compaction leaves its journal behind. Keep it,
+        // as its records are covered by this compaction too. So are those of
+        // the journal, which then stays, so only records appended from now on
+        // count towards the next compaction
+        if (!Files.exists(this.compactingPath)) {
+            try {
+                Files.move(this.journalPath, this.compactingPath);
+            } catch (IOException e) {
+                logger.warning("Failed to move journal aside for compaction: " + StringUtil.getDetails(e));
+                return;
+            }
+        }
+        this.journalBytes = 0;
+
+        List<Contact> snapshot = Arrays.asList(this.saved);
+        this.compaction = this.compactor.submit(() -> {
+            try {
+                this.writeFile(snapshot);
+                Files.deleteIfExists(this.compactingPath);
+            } catch (IOException e) {
+                logger.warning("Failed to compact contacts journal: " + StringUtil.getDetails(e));
+            }
+        });
+    }
+
+    private void awaitCompaction() throws InterruptedIOException {
+        if (this.compaction == null) {
+            return;
+        }
+
+        try {
+            this.compaction.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while compacting contacts journal");
+        } catch (ExecutionException e) {
+            // Compaction logs its own failures
+        }
+        this.compaction = null;
+    }
+
+    private void writeFile(List<Contact> contacts) throws IOException {
+        JsonContactsWriter.write(contacts, this.path, this.isCompact, this.compressionLevel, this.durability);
+    }
+}
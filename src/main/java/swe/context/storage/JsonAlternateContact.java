@@ -46,6 +46,6 @@ public final class JsonAlternateContact {
             );
         }
 
-        return new AlternateContact(this.value);
+        return AlternateContact.of(this.value);
     }
 }
@@ -0,0 +1,177 @@
+package swe.context.storage;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+
+import swe.context.annotation.Nullable;
+import swe.context.commons.exceptions.IllegalValueException;
+import swe.context.logic.Messages;
+import swe.context.model.contact.Contact;
+import swe.context.model.contact.Name;
+
+
+
+/**
+ * Converts {@link JsonContact}s to {@link Contact}s in order, checking that
+ * no two share a name.
+ *
+ * {@link JsonContact}s are converted in chunks on the common
+ * {@link ForkJoinPool}, so that validating them uses every core while they
+ * are still being parsed. Converted chunks are then checked for duplicates
+ * one at a time, in order. Any invalid data is reported exactly as converting
+ * one {@link JsonContact} at a time would: the first problem in order,
+ * whether an invalid {@link JsonContact} or a duplicate name, is thrown.
+ */
+class JsonContactConverter {
+    private static final int CHUNK_SIZE = 1024;
+
+    private final boolean isParallel;
+    private final int maxPendingChunks;
+
+    private final Deque<CompletableFuture<Chunk>> pendingChunks = new ArrayDeque<>();
+    private List<JsonContact> nextChunk = new ArrayList<>(JsonContactConverter.CHUNK_SIZE);
+
+    private final List<Contact> contacts = new ArrayList<>();
+    private final Set<Name> names = new HashSet<>();
+
+    /**
+     * Constructs, converting in parallel only if there are several cores to
+     * do so on.
+     */
+    public JsonContactConverter() {
+        this(Runtime.getRuntime().availableProcessors() > 1);
+    }
+
+    /**
+     * Constructs with the specified values.
+     *
+     * @param isParallel Whether to convert chunks on the common
+     *     {@link ForkJoinPool}, rather than as soon as they fill up.
+     */
+    JsonContactConverter(boolean isParallel) {
+        this.isParallel = isParallel;
+        // Bounds how many parsed but unconverted contacts are held at once
+        this.maxPendingChunks = 2 * ForkJoinPool.getCommonPoolParallelism();
+    }
+
+    /**
+     * Adds the specified {@link JsonContact} to be converted after those
+     * already added.
+     *
+     * @throws IllegalValueException If any contact added so far is found to
+     *     be invalid. Not every invalid contact is found as soon as it is
+     *     added.
+     */
+    public void add(JsonContact jsonContact) throws IllegalValueException {
+        this.nextChunk.add(jsonContact);
+        if (this.nextChunk.size() < JsonContactConverter.CHUNK_SIZE) {
+            return;
+        }
+
+        this.submitNextChunk();
+        if (this.pendingChunks.size() > this.maxPendingChunks) {
+            this.mergeOldestChunk();
+        }
+    }
+
+    /**
+     * Returns the converted {@link Contact}s, in the order their
+     * {@link JsonContact}s were added.
+     *
+     * @throws IllegalValueException If any contact added is invalid.
+     */
+    public List<Contact> finish() throws IllegalValueException {
+        this.submitNextChunk();
+        while (!this.pendingChunks.isEmpty()) {
+            this.mergeOldestChunk();
+        }
+        return this.contacts;
+    }
+
+    private void submitNextChunk() {
+        if (this.nextChunk.isEmpty()) {
+            return;
+        }
+
+        List<JsonContact> jsonContacts = this.nextChunk;
+        this.nextChunk = new ArrayList<>(JsonContactConverter.CHUNK_SIZE);
+        if (this.isParallel) {
+            this.pendingChunks.add(CompletableFuture.supplyAsync(
+                () -> Chunk.convert(jsonContacts),
+                ForkJoinPool.commonPool()
+            ));
+        } else {
+            this.pendingChunks.add(CompletableFuture.completedFuture(Chunk.convert(jsonContacts)));
+        }
+    }
+
+    /**
+     * Waits for the oldest pending chunk to be converted, and adds its
+     * {@link Contact}s, checking for duplicates.
+     */
+    private void mergeOldestChunk() throws IllegalValueException {
+        Chunk chunk;
+        try {
+            chunk = this.pendingChunks.removeFirst().join();
+        } catch (CompletionException e) {
+            this.cancelPendingChunks();
+            // Thrown as if converted on this thread
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+        for (Contact contact : chunk.contacts) {
+            if (!this.names.add(contact.getName())) {
+                this.cancelPendingChunks();
+                throw new IllegalValueException(Messages.CONVERT_CONTACTS_DUPLICATE);
+            }
+            this.contacts.add(contact);
+        }
+
+        if (chunk.exception != null) {
+            this.cancelPendingChunks();
+            throw chunk.exception;
+        }
+    }
+
+    private void cancelPendingChunks() {
+        for (CompletableFuture<Chunk> pendingChunk : this.pendingChunks) {
+            pendingChunk.cancel(false);
+        }
+        this.pendingChunks.clear();
+    }
+
+    /**
+     * The {@link Contact}s converted from a chunk of {@link JsonContact}s, up
+     * to the first invalid one, if any.
+     */
+    private static class Chunk {
+        private final List<Contact> contacts;
+        private final @Nullable IllegalValueException exception;
+
+        private Chunk(List<Contact> contacts, @Nullable IllegalValueException exception) {
+            this.contacts = contacts;
+            this.exception = exception;
+        }
+
+        static Chunk convert(List<JsonContact> jsonContacts) {
+            List<Contact> contacts = new ArrayList<>(jsonContacts.size());
+            for (JsonContact jsonContact : jsonContacts) {
+                try {
+                    contacts.add(jsonContact.toModelType());
+                } catch (IllegalValueException e) {
+                    return new Chunk(contacts, e);
+                }
+            }
+            return new Chunk(contacts, null);
+        }
+    }
+}
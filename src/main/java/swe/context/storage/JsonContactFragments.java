@@ -0,0 +1,121 @@
+package swe.context.storage;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.DefaultIndenter;
+import com.fasterxml.jackson.core.util.DefaultPrettyPrinter;
+
+import swe.context.commons.util.JsonUtil;
+import swe.context.model.contact.Contact;
+
+
+
+/**
+ * Caches the JSON each {@link Contact} was last written as, so that saving
+ * again only converts and serializes {@link Contact}s that changed since.
+ *
+ * {@link Contact}s are immutable, and editing one replaces it with a new
+ * instance, so fragments are looked up by instance rather than by equality.
+ * An edited {@link Contact} therefore never finds a stale fragment.
+ *
+ * Fragments are kept as UTF-8 bytes, and copied straight to the output
+ * without passing through a {@link JsonGenerator}. They and the separators
+ * between them are laid out as {@link JsonUtil#createGenerator} would lay
+ * out the elements of the contacts array in a contacts storage JSON file, so
+ * a file written from fragments is the same as one written directly.
+ *
+ * Not thread-safe.
+ */
+class JsonContactFragments {
+    private final boolean isCompact;
+    private final byte[] firstPrefix;
+    private final byte[] separator;
+
+    private Map<Contact, byte[]> fragments = new IdentityHashMap<>();
+    private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+
+    /**
+     * Constructs with the specified values.
+     *
+     * @param isCompact Whether fragments leave out indentation and line
+     *     breaks.
+     */
+    public JsonContactFragments(boolean isCompact) {
+        this.isCompact = isCompact;
+        this.firstPrefix = isCompact ? new byte[0] : new byte[] {' '};
+        this.separator = isCompact ? new byte[] {','} : new byte[] {',', ' '};
+    }
+
+    public boolean isCompact() {
+        return this.isCompact;
+    }
+
+    /**
+     * Writes the JSON of the specified {@link Contact}s to the specified
+     * stream, as the elements of an array whose opening bracket was just
+     * written. Serializes only {@link Contact}s with no fragment cached yet.
+     *
+     * Afterwards, only fragments of the {@link Contact}s written are kept, so
+     * that removed and replaced {@link Contact}s are not kept alive.
+     */
+    public void writeElements(List<Contact> contacts, OutputStream output) throws IOException {
+        Map<Contact, byte[]> written = new IdentityHashMap<>(contacts.size());
+        boolean isFirst = true;
+        for (Contact contact : contacts) {
+            byte[] fragment = this.fragments.get(contact);
+            if (fragment == null) {
+                fragment = this.serialize(contact);
+            }
+            written.put(contact, fragment);
+
+            output.write(isFirst ? this.firstPrefix : this.separator);
+            output.write(fragment);
+            isFirst = false;
+        }
+        this.fragments = written;
+    }
+
+    /**
+     * Returns the number of fragments cached.
+     */
+    public int size() {
+        return this.fragments.size();
+    }
+
+    private byte[] serialize(Contact contact) throws IOException {
+        this.buffer.reset();
+        try (JsonGenerator generator = JsonUtil.createGenerator(this.buffer, false)) {
+            if (!this.isCompact) {
+                generator.setPrettyPrinter(
+                    new DefaultPrettyPrinter().withObjectIndenter(ArrayElementIndenter.INSTANCE)
+                );
+            }
+            JsonUtil.toJsonGenerator(generator, new JsonContact(contact));
+        }
+        return this.buffer.toByteArray();
+    }
+
+    /**
+     * Indents objects one level deeper than usual, as for the elements of the
+     * contacts array, which is itself inside the file's outermost object.
+     */
+    private static class ArrayElementIndenter implements DefaultPrettyPrinter.Indenter {
+        static final ArrayElementIndenter INSTANCE = new ArrayElementIndenter();
+
+        @Override
+        public void writeIndentation(JsonGenerator generator, int level) throws IOException {
+            DefaultIndenter.SYSTEM_LINEFEED_INSTANCE.writeIndentation(generator, level + 1);
+        }
+
+        @Override
+        public boolean isInline() {
+            return false;
+        }
+    }
+}
@@ -9,7 +9,6 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 
 import swe.context.annotation.Nullable;
 import swe.context.commons.exceptions.IllegalValueException;
-import swe.context.logic.Messages;
 import swe.context.model.Contacts;
 import swe.context.model.ReadOnlyContacts;
 import swe.context.model.contact.Contact;
@@ -52,14 +51,13 @@ class JsonContacts {
      * @throws IllegalValueException If any data this contains is invalid.
      */
     public Contacts toModelType() throws IllegalValueException {
-        Contacts contacts = new Contacts();
+        JsonContactConverter converter = new JsonContactConverter();
         for (JsonContact jsonContact : this.contacts) {
-            Contact contact = jsonContact.toModelType();
-            if (contacts.contains(contact)) {
-                throw new IllegalValueException(Messages.CONVERT_CONTACTS_DUPLICATE);
-            }
-            contacts.add(contact);
+            converter.add(jsonContact);
         }
+
+        Contacts contacts = new Contacts();
+        contacts.setContacts(converter.finish());
         return contacts;
     }
 }
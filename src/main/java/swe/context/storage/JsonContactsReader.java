@@ -0,0 +1,114 @@
+package swe.context.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import swe.context.commons.exceptions.IllegalValueException;
+import swe.context.commons.util.FileUtil;
+import swe.context.commons.util.JsonUtil;
+import swe.context.model.Contacts;
+import swe.context.model.contact.Contact;
+
+
+
+/**
+ * Reads {@link Contacts} from a contacts storage JSON file one
+ * {@link Contact} at a time.
+ *
+ * {@link Contact}s are converted and checked by a
+ * {@link JsonContactConverter} while later ones are still being parsed, so
+ * neither the file's text nor a {@link JsonContacts} of the whole file is
+ * ever held in memory. The result is the same as reading the file as
+ * {@link JsonContacts} and converting {@link JsonContacts#toModelType()}.
+ *
+ * Gzipped files are recognised by their first bytes, whatever their name, and
+ * decompressed as they are parsed.
+ */
+class JsonContactsReader {
+    private static final String FIELD_CONTACTS = "contacts";
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    /**
+     * Returns the {@link Contacts} in the specified existing file.
+     *
+     * @throws IOException If the file cannot be read or is not valid JSON.
+     * @throws IllegalValueException If any data it contains is invalid.
+     */
+    public static Contacts read(Path path) throws IOException, IllegalValueException {
+        Contacts modelContacts = new Contacts();
+        modelContacts.setContacts(JsonContactsReader.readList(path));
+        return modelContacts;
+    }
+
+    /**
+     * Returns the {@link Contact}s in the specified existing file, in file
+     * order.
+     *
+     * @throws IOException If the file cannot be read or is not valid JSON.
+     * @throws IllegalValueException If any data it contains is invalid.
+     */
+    public static List<Contact> readList(Path path) throws IOException, IllegalValueException {
+        JsonContactConverter converter = new JsonContactConverter();
+        try (JsonParser parser = JsonUtil.createParser(JsonContactsReader.open(path))) {
+            JsonContactsReader.expect(parser, parser.nextToken(), JsonToken.START_OBJECT);
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                JsonToken valueToken = parser.nextToken();
+                if (!JsonContactsReader.FIELD_CONTACTS.equals(parser.getCurrentName())
+                        || valueToken == JsonToken.VALUE_NULL) {
+                    // Unknown fields are ignored, as when reading JsonContacts
+                    parser.skipChildren();
+                    continue;
+                }
+
+                JsonContactsReader.expect(parser, valueToken, JsonToken.START_ARRAY);
+                JsonContactsReader.readContactArray(parser, converter);
+            }
+        }
+        return converter.finish();
+    }
+
+    /**
+     * Opens the specified file for reading, decompressing it if it is gzipped.
+     */
+    private static InputStream open(Path path) throws IOException {
+        PushbackInputStream input = new PushbackInputStream(FileUtil.openForReading(path), 2);
+        try {
+            byte[] magic = input.readNBytes(2);
+            input.unread(magic);
+            if (magic.length == 2 && ((magic[0] & 0xFF) | (magic[1] & 0xFF) << 8) == GZIPInputStream.GZIP_MAGIC) {
+                return new GZIPInputStream(input, JsonContactsReader.BUFFER_SIZE);
+            }
+            return input;
+        } catch (IOException e) {
+            input.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Adds each element of the array the specified parser is at to the
+     * specified converter.
+     */
+    private static void readContactArray(JsonParser parser, JsonContactConverter converter)
+            throws IOException, IllegalValueException {
+        for (JsonToken token = parser.nextToken(); token != JsonToken.END_ARRAY; token = parser.nextToken()) {
+            JsonContactsReader.expect(parser, token, JsonToken.START_OBJECT);
+            converter.add(JsonUtil.fromJsonParser(parser, JsonContact.class));
+        }
+    }
+
+    private static void expect(JsonParser parser, JsonToken actual, JsonToken expected) throws JsonParseException {
+        if (actual != expected) {
+            throw new JsonParseException(parser, String.format("Expected %s but found %s", expected, actual));
+        }
+    }
+}
@@ -1,17 +1,24 @@
 package swe.context.storage;
 
 import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import java.util.logging.Logger;
 
+import swe.context.annotation.Nullable;
 import swe.context.commons.core.LogsCenter;
 import swe.context.commons.exceptions.DataLoadingException;
 import swe.context.commons.exceptions.IllegalValueException;
-import swe.context.commons.util.JsonUtil;
+import swe.context.commons.util.Durability;
 import swe.context.commons.util.StringUtil;
+import swe.context.model.ColumnarContacts;
 import swe.context.model.Contacts;
 import swe.context.model.ReadOnlyContacts;
+import swe.context.model.contact.Contact;
+import swe.context.model.contact.LazyContact;
 
 
 
@@ -19,15 +26,90 @@ import swe.context.model.ReadOnlyContacts;
  * Handles reading and saving {@link Contacts} to and from the contacts storage
  * JSON file.
  *
+ * Contacts can be held lazily, as {@link LazyContact}s that hold only their
+ * name, and load the rest when needed from {@link ColumnarContacts} of every
+ * contact read, rather than as whole {@link Contact}s. The file is still read
+ * and validated in full up front.
+ *
+ * Shards that {@link ShardedContactsStorage} or a journal that
+ * {@link JournaledContactsStorage} left next to the file are folded into it
+ * before reading, so their changes are not lost when sharding or journaling
+ * is turned off.
+ *
  * Contains an immutable {@link Path}.
  */
 public class JsonContactsStorage implements ContactsStorage {
     private static final Logger logger = LogsCenter.getLogger(JsonContactsStorage.class);
 
     private final Path path;
+    private final int compressionLevel;
+    private final Durability durability;
+    private final @Nullable ContactsSnapshot snapshot;
+    private final boolean isLazy;
+
+    // Guarded by this
+    private final JsonContactFragments fragments;
+    // Guarded by this. The last save, if its snapshot has not been taken yet
+    private @Nullable List<Contact> unsnapshotted = null;
+    private long unsnapshottedFileSize = 0;
+    private int unsnapshottedFileChecksum = 0;
 
+    /**
+     * Constructs with the specified {@link Path}, writing indented JSON that
+     * is forced to disk.
+     */
     public JsonContactsStorage(Path path) {
+        this(path, false, JsonContactsWriter.DEFAULT_COMPRESSION_LEVEL, Durability.FILE, false);
+    }
+
+    /**
+     * Constructs with the specified values.
+     *
+     * A path ending in {@value JsonContactsWriter#COMPRESSED_EXTENSION} is
+     * saved gzipped. Gzipped files are read whatever their name.
+     *
+     * @param isCompact Whether to write JSON without indentation and line
+     *     breaks. Either is read back the same.
+     * @param compressionLevel How hard to compress gzipped saves, from 0
+     *     (fastest) to 9 (smallest).
+     * @param durability How far each save is forced to disk.
+     * @param isSnapshotEnabled Whether to keep a {@link ContactsSnapshot} of
+     *     the last save, taken when flushed, to read instead while the file is
+     *     unchanged.
+     */
+    public JsonContactsStorage(
+        Path path,
+        boolean isCompact,
+        int compressionLevel,
+        Durability durability,
+        boolean isSnapshotEnabled
+    ) {
+        this(path, isCompact, compressionLevel, durability, isSnapshotEnabled, false);
+    }
+
+    /**
+     * Constructs with the specified values, as
+     * {@link #JsonContactsStorage(Path, boolean, int, Durability, boolean)}
+     * does.
+     *
+     * @param isLazy Whether to hold contacts read as {@link LazyContact}s,
+     *     which load all but their names from {@link ColumnarContacts} when
+     *     needed.
+     */
+    public JsonContactsStorage(
+        Path path,
+        boolean isCompact,
+        int compressionLevel,
+        Durability durability,
+        boolean isSnapshotEnabled,
+        boolean isLazy
+    ) {
         this.path = path;
+        this.compressionLevel = compressionLevel;
+        this.durability = durability;
+        this.snapshot = isSnapshotEnabled ? new ContactsSnapshot(path) : null;
+        this.isLazy = isLazy;
+        this.fragments = new JsonContactFragments(isCompact);
     }
 
     @Override
@@ -35,20 +117,64 @@ public class JsonContactsStorage implements ContactsStorage {
         return this.path;
     }
 
+    /**
+     * Reads one contact at a time, so the whole file is never held in memory
+     * at once.
+     *
+     * If snapshots are enabled and the file is unchanged since the last
+     * snapshot, reads that instead, skipping validation. Otherwise takes a
+     * snapshot of what was read, for next time.
+     *
+     * If reading lazily, logs how much memory the columns take.
+     */
     @Override
     public Optional<Contacts> readContacts() throws DataLoadingException {
-        Optional<JsonContacts> jsonContactsOptional = JsonUtil.readJsonFile(
-            this.path,
-            JsonContacts.class
-        );
-        if (!jsonContactsOptional.isPresent()) {
+        try {
+            if (ShardedContactsStorage.mergeLeftoverShards(
+                this.path,
+                this.fragments.isCompact(),
+                this.compressionLevel,
+                this.durability
+            )) {
+                logger.info("Merged leftover shards into JSON file " + this.path + ".");
+            }
+            if (JournaledContactsStorage.compactLeftoverJournal(
+                this.path,
+                this.fragments.isCompact(),
+                this.compressionLevel,
+                this.durability
+            )) {
+                logger.info("Compacted leftover journal into JSON file " + this.path + ".");
+            }
+        } catch (IOException e) {
+            logger.warning("Failed to fold leftover shards or journal into " + this.path + ": " + e);
+            throw new DataLoadingException(e);
+        }
+
+        if (!Files.exists(this.path)) {
             return Optional.empty();
         }
-        JsonContacts jsonContacts = jsonContactsOptional.get();
+        logger.info("JSON file " + this.path + " found.");
 
         try {
-            Contacts contacts = jsonContacts.toModelType();
-            return Optional.of(contacts);
+            if (this.snapshot == null) {
+                return Optional.of(this.hold(JsonContactsReader.read(this.path)));
+            }
+
+            long fileSize = Files.size(this.path);
+            int fileChecksum = ContactsSnapshot.checksumOf(this.path);
+            Optional<Contacts> snapshotContacts = this.snapshot.read(fileSize, fileChecksum);
+            if (snapshotContacts.isPresent()) {
+                logger.info("Read contacts from unchanged snapshot " + this.snapshot.getPath() + ".");
+                return Optional.of(this.hold(snapshotContacts.get()));
+            }
+
+            Contacts contacts = JsonContactsReader.read(this.path);
+            this.writeSnapshot(contacts.getUnmodifiableList(), fileSize, fileChecksum);
+            return Optional.of(this.hold(contacts));
+        } catch (IOException e) {
+            logger.warning("Error reading from jsonFile file " + this.path + ": " + e);
+            throw new DataLoadingException(e);
         } catch (IllegalValueException e) {
             logger.info(String.format(
                 "Found illegal values after reading contacts storage JSON file."
@@ -61,8 +187,90 @@ public class JsonContactsStorage implements ContactsStorage {
         }
     }
 
+    /**
+     * Writes one contact at a time, so the whole file is never held in memory
+     * at once. Reuses the JSON of contacts unchanged since the last save, so
+     * only changed contacts are converted and serialized again.
+     *
+     * If snapshots are enabled, the snapshot is only taken when flushed, so
+     * that each save writes the contacts once.
+     *
+     * Logs how long each save took, to weigh up the {@link Durability} in use.
+     */
     @Override
-    public void saveContacts(ReadOnlyContacts contacts) throws IOException {
-        JsonUtil.saveJsonFile(new JsonContacts(contacts), this.path);
+    public synchronized void saveContacts(ReadOnlyContacts contacts) throws IOException {
+        long start = System.nanoTime();
+        List<Contact> contactList = contacts.getUnmodifiableList();
+        int fileChecksum = JsonContactsWriter.write(
+            contactList,
+            this.path,
+            this.fragments,
+            this.compressionLevel,
+            this.durability
+        );
+        if (this.snapshot != null) {
+            this.unsnapshotted = new ArrayList<>(contactList);
+            this.unsnapshottedFileSize = Files.size(this.path);
+            this.unsnapshottedFileChecksum = fileChecksum;
+        }
+        logger.fine(String.format(
+            "Saved %d contacts with durability %s in %d \u00b5s.",
+            contactList.size(),
+            this.durability,
+            (System.nanoTime() - start) / 1000
+        ));
+    }
+
+    /**
+     * Takes the snapshot of the last save, if snapshots are enabled, as saving
+     * writes the file itself before returning.
+     */
+    @Override
+    public synchronized void flushContacts() {
+        if (this.unsnapshotted == null) {
+            return;
+        }
+
+        this.writeSnapshot(this.unsnapshotted, this.unsnapshottedFileSize, this.unsnapshottedFileChecksum);
+        this.unsnapshotted = null;
+    }
+
+    /**
+     * Returns the specified {@link Contacts} as they are to be held, which if
+     * reading lazily are {@link LazyContact}s loading from
+     * {@link ColumnarContacts} of them.
+     */
+    private Contacts hold(Contacts contacts) {
+        if (!this.isLazy) {
+            return contacts;
+        }
+
+        List<Contact> contactList = contacts.getUnmodifiableList();
+        ColumnarContacts columns = new ColumnarContacts(contactList);
+        List<Contact> lazyContacts = new ArrayList<>(contactList.size());
+        for (int i = 0; i < contactList.size(); i++) {
+            lazyContacts.add(new LazyContact(contactList.get(i).getName(), columns, i));
+        }
+        logger.info(String.format(
+            "Holding %d contacts lazily, with all but their names taking %d bytes as columns.",
+            lazyContacts.size(),
+            columns.getByteCount()
+        ));
+
+        Contacts lazy = new Contacts();
+        lazy.setContacts(lazyContacts);
+        return lazy;
+    }
+
+    /**
+     * Replaces the snapshot, which only logs a failure, as the snapshot is
+     * merely a cache.
+     */
+    private void writeSnapshot(List<Contact> contacts, long fileSize, int fileChecksum) {
+        try {
+            this.snapshot.write(contacts, fileSize, fileChecksum);
+        } catch (IOException e) {
+            logger.warning("Failed to write contacts snapshot: " + StringUtil.getDetails(e));
+        }
     }
 }
@@ -0,0 +1,194 @@
+package swe.context.storage;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedOutputStream;
+import java.util.zip.Checksum;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import swe.context.annotation.Nullable;
+import swe.context.commons.util.Durability;
+import swe.context.commons.util.FileUtil;
+import swe.context.commons.util.JsonUtil;
+import swe.context.model.contact.Contact;
+
+
+
+/**
+ * Writes {@link Contact}s to a contacts storage JSON file one
+ * {@link Contact} at a time.
+ *
+ * Each {@link Contact} is converted to a {@link JsonContact} only while it is
+ * being written, so neither the file's text nor a {@link JsonContacts} of
+ * every {@link Contact} is ever held in memory. The file has the same
+ * structure as one written from {@link JsonContacts}, so
+ * {@link JsonContactsReader} reads it either way.
+ *
+ * A {@link JsonContactFragments} can be passed to reuse the JSON of
+ * {@link Contact}s unchanged since an earlier write, instead of converting and
+ * serializing them again.
+ *
+ * Files whose name ends in {@value #COMPRESSED_EXTENSION} are gzipped as they
+ * are written, which shrinks them greatly, as tags and alternates repeat.
+ */
+class JsonContactsWriter {
+    /** File extension that selects gzipped JSON. */
+    public static final String COMPRESSED_EXTENSION = ".gz";
+
+    // Level 6 takes about twice as long to save as level 1, for files only
+    // about 15% smaller, and saves after every command wait for the write
+    /** Compression level used unless one is specified, favouring speed. */
+    public static final int DEFAULT_COMPRESSION_LEVEL = 1;
+
+    private static final String FIELD_CONTACTS = "contacts";
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    /**
+     * Returns whether files at the specified path are written gzipped.
+     */
+    public static boolean isCompressedPath(Path path) {
+        return path.getFileName().toString().endsWith(JsonContactsWriter.COMPRESSED_EXTENSION);
+    }
+
+    /**
+     * Writes the specified {@link Contact}s to the specified file, atomically
+     * replacing it if it exists.
+     *
+     * Will create the parent folders if they do not exist yet.
+     *
+     * @param isCompact Whether to leave out indentation and line breaks.
+     * @param durability How far the write is forced to disk before returning.
+     * @return The CRC-32C of the bytes written to the file.
+     * @throws IOException If writing to the file fails.
+     */
+    public static int write(List<Contact> contacts, Path path, boolean isCompact, Durability durability)
+            throws IOException {
+        return JsonContactsWriter.write(
+            contacts,
+            path,
+            isCompact,
+            JsonContactsWriter.DEFAULT_COMPRESSION_LEVEL,
+            durability
+        );
+    }
+
+    /**
+     * Writes the specified {@link Contact}s to the specified file, as
+     * {@link #write(List, Path, boolean, Durability)} does.
+     *
+     * @param compressionLevel How hard to compress, from 0 (fastest) to 9
+     *     (smallest), if the file is gzipped at all. Levels outside that range
+     *     are clamped to it.
+     */
+    public static int write(
+        List<Contact> contacts,
+        Path path,
+        boolean isCompact,
+        int compressionLevel,
+        Durability durability
+    ) throws IOException {
+        return JsonContactsWriter.writeFile(contacts, path, isCompact, null, compressionLevel, durability);
+    }
+
+    /**
+     * Writes the specified {@link Contact}s to the specified file, as
+     * {@link #write(List, Path, boolean, int, Durability)} does, but reusing
+     * the JSON of any {@link Contact} written through the specified
+     * {@link JsonContactFragments} before.
+     *
+     * Only fragments of the {@link Contact}s written are kept afterwards.
+     *
+     * @param fragments The cache of fragments, which decides whether the file
+     *     is compact.
+     */
+    public static int write(
+        List<Contact> contacts,
+        Path path,
+        JsonContactFragments fragments,
+        int compressionLevel,
+        Durability durability
+    ) throws IOException {
+        return JsonContactsWriter.writeFile(
+            contacts,
+            path,
+            fragments.isCompact(),
+            fragments,
+            compressionLevel,
+            durability
+        );
+    }
+
+    /**
+     * Writes the specified {@link Contact}s to the specified stream, closing
+     * it.
+     *
+     * Uses the specified {@link JsonContactFragments}, if any, for the JSON of
+     * each {@link Contact}. It must match whether the stream is compact.
+     */
+    private static void write(
+        List<Contact> contacts,
+        OutputStream output,
+        boolean isCompact,
+        @Nullable JsonContactFragments fragments
+    ) throws IOException {
+        try (JsonGenerator generator = JsonUtil.createGenerator(output, !isCompact)) {
+            generator.writeStartObject();
+            generator.writeFieldName(JsonContactsWriter.FIELD_CONTACTS);
+            generator.writeStartArray();
+            if (fragments == null) {
+                for (Contact contact : contacts) {
+                    JsonUtil.toJsonGenerator(generator, new JsonContact(contact));
+                }
+            } else {
+                // Written around the generator, which must not buffer anything meanwhile
+                generator.flush();
+                fragments.writeElements(contacts, output);
+            }
+            generator.writeEndArray();
+            generator.writeEndObject();
+        }
+    }
+
+    private static int writeFile(
+        List<Contact> contacts,
+        Path path,
+        boolean isCompact,
+        @Nullable JsonContactFragments fragments,
+        int compressionLevel,
+        Durability durability
+    ) throws IOException {
+        boolean isCompressed = JsonContactsWriter.isCompressedPath(path);
+        int level = Math.max(Deflater.NO_COMPRESSION, Math.min(Deflater.BEST_COMPRESSION, compressionLevel));
+        Checksum checksum = new CRC32C();
+        FileUtil.writeAtomically(
+            path,
+            output -> {
+                OutputStream checkedOutput = new CheckedOutputStream(output, checksum);
+                JsonContactsWriter.write(
+                    contacts,
+                    isCompressed ? new LeveledGzipOutputStream(checkedOutput, level) : checkedOutput,
+                    isCompact,
+                    fragments
+                );
+            },
+            durability
+        );
+        return (int) checksum.getValue();
+    }
+
+    /**
+     * Gzips at a chosen compression level rather than the default one.
+     */
+    private static class LeveledGzipOutputStream extends GZIPOutputStream {
+        LeveledGzipOutputStream(OutputStream output, int level) throws IOException {
+            super(output, JsonContactsWriter.BUFFER_SIZE);
+            this.def.setLevel(level);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package swe.context.storage;
+
+import java.util.Map;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import swe.context.annotation.Nullable;
+import swe.context.commons.exceptions.IllegalValueException;
+import swe.context.logic.Messages;
+import swe.context.model.contact.Contact;
+import swe.context.model.contact.Name;
+
+
+
+/**
+ * Immutable, Jackson-friendly record of one change to contacts, as appended
+ * to the contacts journal.
+ *
+ * Each record sets the final state of the single {@link Contact} with its
+ * name, so replaying records that were already applied changes nothing.
+ *
+ * The data it contains may be invalid if the instance was deserialized from
+ * JSON. Checks are done when {@link #applyTo(Map)}.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+class JsonJournalRecord {
+    private static final String OPERATION_ADD = "add";
+    private static final String OPERATION_UPDATE = "update";
+    private static final String OPERATION_REMOVE = "remove";
+
+    private final @Nullable String op;
+    private final @Nullable String name;
+    private final @Nullable JsonContact contact;
+
+    @JsonCreator
+    public JsonJournalRecord(
+        @JsonProperty("op") @Nullable String op,
+        @JsonProperty("name") @Nullable String name,
+        @JsonProperty("contact") @Nullable JsonContact contact
+    ) {
+        this.op = op;
+        this.name = name;
+        this.contact = contact;
+    }
+
+    /**
+     * Returns a record of adding the specified {@link Contact}.
+     */
+    public static JsonJournalRecord add(Contact contact) {
+        return new JsonJournalRecord(OPERATION_ADD, null, new JsonContact(contact));
+    }
+
+    /**
+     * Returns a record of replacing the {@link Contact} of the same name with
+     * the specified {@link Contact}.
+     */
+    public static JsonJournalRecord update(Contact contact) {
+        return new JsonJournalRecord(OPERATION_UPDATE, null, new JsonContact(contact));
+    }
+
+    /**
+     * Returns a record of removing the specified {@link Contact}.
+     */
+    public static JsonJournalRecord remove(Contact contact) {
+        return new JsonJournalRecord(OPERATION_REMOVE, contact.getName().value, null);
+    }
+
+    /**
+     * Applies this change to the specified {@link Contact}s, keyed by name in
+     * list order.
+     *
+     * Updating keeps the {@link Contact}'s position, while adding places it
+     * last, as the model does.
+     *
+     * @throws IllegalValueException If any data this contains is invalid.
+     */
+    public void applyTo(Map<Name, Contact> contacts) throws IllegalValueException {
+        if (OPERATION_REMOVE.equals(this.op)) {
+            if (this.name == null || !Name.isValid(this.name)) {
+                throw new IllegalValueException(Messages.CONVERT_JOURNAL_RECORD_INVALID);
+            }
+            contacts.remove(new Name(this.name));
+            return;
+        }
+
+        boolean isPut = OPERATION_ADD.equals(this.op) || OPERATION_UPDATE.equals(this.op);
+        if (!isPut || this.contact == null) {
+            throw new IllegalValueException(Messages.CONVERT_JOURNAL_RECORD_INVALID);
+        }
+        Contact modelContact = this.contact.toModelType();
+        contacts.put(modelContact.getName(), modelContact);
+    }
+}
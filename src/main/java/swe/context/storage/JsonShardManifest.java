@@ -0,0 +1,67 @@
+package swe.context.storage;
+
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import swe.context.annotation.Nullable;
+import swe.context.commons.exceptions.IllegalValueException;
+import swe.context.logic.Messages;
+
+
+
+/**
+ * Immutable, Jackson-friendly manifest of the shard files that together hold
+ * all contacts, in shard order.
+ *
+ * The data it contains may be invalid if the instance was deserialized from
+ * JSON. Checks are done when converting {@link #toShardPaths(Path)}.
+ */
+class JsonShardManifest {
+    private final List<String> shards = new ArrayList<>();
+
+    @JsonCreator
+    public JsonShardManifest(
+        @JsonProperty("shards") @Nullable List<String> shards
+    ) {
+        if (shards != null) {
+            this.shards.addAll(shards);
+        }
+    }
+
+    /**
+     * Returns the paths of the listed shard files, which must all be directly
+     * in the specified folder.
+     *
+     * @throws IllegalValueException If there are no shards, or any shard file
+     *     name is invalid or names a file elsewhere.
+     */
+    public List<Path> toShardPaths(Path folder) throws IllegalValueException {
+        if (this.shards.isEmpty()) {
+            throw new IllegalValueException(Messages.CONVERT_SHARD_MANIFEST_INVALID);
+        }
+
+        List<Path> paths = new ArrayList<>(this.shards.size());
+        for (String shard : this.shards) {
+            if (shard == null || shard.isEmpty()) {
+                throw new IllegalValueException(Messages.CONVERT_SHARD_MANIFEST_INVALID);
+            }
+            Path path;
+            try {
+                path = folder.resolve(shard);
+            } catch (InvalidPathException e) {
+                throw new IllegalValueException(Messages.CONVERT_SHARD_MANIFEST_INVALID, e);
+            }
+            if (!folder.normalize().equals(path.normalize().getParent())) {
+                throw new IllegalValueException(Messages.CONVERT_SHARD_MANIFEST_INVALID);
+            }
+            paths.add(path);
+        }
+        return Collections.unmodifiableList(paths);
+    }
+}
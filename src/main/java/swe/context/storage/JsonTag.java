@@ -47,6 +47,6 @@ public final class JsonTag {
             );
         }
 
-        return new Tag(this.value);
+        return Tag.of(this.value);
     }
 }
@@ -0,0 +1,584 @@
+package swe.context.storage;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+
+import swe.context.annotation.Nullable;
+import swe.context.commons.core.LogsCenter;
+import swe.context.commons.exceptions.DataLoadingException;
+import swe.context.commons.exceptions.IllegalValueException;
+import swe.context.commons.util.Durability;
+import swe.context.commons.util.FileUtil;
+import swe.context.commons.util.JsonUtil;
+import swe.context.commons.util.StringUtil;
+import swe.context.model.Contacts;
+import swe.context.model.ReadOnlyContacts;
+import swe.context.model.contact.Contact;
+
+
+
+/**
+ * Handles reading and saving {@link Contacts} to and from a contacts storage
+ * file of records, which saving patches in place rather than rewriting.
+ *
+ * The format, with all integers big-endian:
+ * <pre>
+ * int magic ("CTXR")    int version
+ * any number of records, each:
+ *     int capacity    int length, or -1 if deleted    int CRC-32 of the data
+ *     capacity bytes, the first length of which are the data
+ * </pre>
+ * The data of each record is a {@link JsonContact} as compact JSON, and the
+ * rest of its capacity is slack left for the {@link Contact} to grow into.
+ *
+ * An index of the record each {@link Contact} is in is kept from the last
+ * read or save. Saving puts added and edited {@link Contact}s in the smallest
+ * deleted record they fit, else in a new record at the end, and marks the
+ * records of removed and edited {@link Contact}s as deleted. Only once slack
+ * and deleted records make up more than a set share of the file is it
+ * rewritten whole, atomically.
+ *
+ * Patches are written in place, so unlike rewrites they are not atomic, but
+ * they never write over a record that holds a saved {@link Contact}. New
+ * records are forced to disk before the records they replace are marked
+ * deleted, and records freed by a patch are only reused by later patches. A
+ * record cut short by a crash fails its checksum, or runs past the end of the
+ * file if it was being appended, and is skipped with a warning, as the
+ * {@link Contact} it was written for is still in its old record, if any. The
+ * next save then rewrites the file whole, without what was skipped. A crash
+ * after new records are forced can leave an edited {@link Contact} in both
+ * its records, which fails to load rather than loading either version, and a
+ * file that cannot be read is never saved over.
+ * Records are read in file order, which is not necessarily the order
+ * {@link Contact}s were saved in.
+ *
+ * Changes are found by comparing which {@link Contact} instances were saved
+ * last time, so this relies on {@link Contact}s being immutable.
+ */
+public class RecordContactsStorage implements ContactsStorage {
+    /** File extension that selects this format. */
+    public static final String EXTENSION = ".records";
+
+    private static final Logger logger = LogsCenter.getLogger(RecordContactsStorage.class);
+
+    private static final int MAGIC = 0x43545852;
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 2 * Integer.BYTES;
+    private static final int RECORD_HEADER_BYTES = 3 * Integer.BYTES;
+    private static final int DELETED = -1;
+    // Slack given to each record written, so that the record freed by an
+    // edit fits most later edits
+    private static final int MIN_SLACK = 16;
+    private static final int SLACK_DIVISOR = 8;
+
+    private final Path path;
+    private final Durability durability;
+    private final int maxWastePercent;
+
+    // Guarded by this. Contacts as last saved or read, or null if the file
+    // must be rewritten on the next save
+    private @Nullable Contact[] saved = null;
+    private final Map<Contact, Record> records = new IdentityHashMap<>();
+    // Offsets of deleted records, by capacity
+    private final TreeMap<Integer, Deque<Long>> deleted = new TreeMap<>();
+    private long fileBytes = 0;
+    private long slackBytes = 0;
+    private int deletedCount = 0;
+    private long deletedBytes = 0;
+    private boolean isUnreadable = false;
+
+    /**
+     * Constructs with the specified values.
+     *
+     * @param durability How far each save is forced to disk.
+     * @param maxWastePercent Percentage of the file that may be slack or
+     *     deleted records before it is rewritten whole.
+     */
+    public RecordContactsStorage(Path path, Durability durability, int maxWastePercent) {
+        requireNonNull(path);
+        requireNonNull(durability);
+
+        this.path = path;
+        this.durability = durability;
+        this.maxWastePercent = maxWastePercent;
+    }
+
+    /**
+     * Returns whether the specified path selects this format.
+     */
+    public static boolean isRecordPath(Path path) {
+        return path.getFileName().toString().endsWith(RecordContactsStorage.EXTENSION);
+    }
+
+    @Override
+    public Path getContactsPath() {
+        return this.path;
+    }
+
+    /**
+     * Returns how much of the file is taken up by slack and deleted records,
+     * as of the last read or save.
+     */
+    public synchronized Stats getStats() {
+        return new Stats(
+            this.records.size(),
+            this.deletedCount,
+            this.fileBytes,
+            this.slackBytes,
+            this.deletedBytes
+        );
+    }
+
+    @Override
+    public synchronized Optional<Contacts> readContacts() throws DataLoadingException {
+        if (!Files.exists(this.path)) {
+            return Optional.empty();
+        }
+        logger.info("Records file " + this.path + " found.");
+
+        this.saved = null;
+        this.isUnreadable = true;
+        try {
+            Contacts contacts = this.read(FileUtil.readToBuffer(this.path));
+            this.isUnreadable = false;
+            return Optional.of(contacts);
+        } catch (IOException e) {
+            logger.warning("Error reading from records file " + this.path + ": " + e);
+            throw new DataLoadingException(e);
+        } catch (IllegalValueException e) {
+            logger.info(String.format(
+                "Found illegal values after reading contacts storage records file."
+                + "\nPath: %s"
+                + "\nDetails: %s",
+                this.path,
+                StringUtil.getDetails(e)
+            ));
+            throw new DataLoadingException(e);
+        }
+    }
+
+    /**
+     * Patches the records of the {@link Contact}s changed since contacts were
+     * last saved or read.
+     *
+     * If contacts were neither, records were skipped when reading, or
+     * patching would leave too much of the file wasted, the whole file is
+     * rewritten instead.
+     *
+     * @throws IOException If the file could not be read, so that the
+     *     {@link Contact}s it holds are not lost by saving over it.
+     */
+    @Override
+    public synchronized void saveContacts(ReadOnlyContacts contacts) throws IOException {
+        if (this.isUnreadable && Files.exists(this.path)) {
+            throw new IOException("Not saving over contacts records file " + this.path + ", as it could not be read");
+        }
+
+        List<Contact> contactList = contacts.getUnmodifiableList();
+        if (this.saved == null || !Files.exists(this.path)) {
+            this.rewrite(contactList);
+        } else {
+            try {
+                this.patch(contactList);
+            } catch (IOException e) {
+                // The index may no longer match the file, so start afresh
+                this.saved = null;
+                throw e;
+            }
+        }
+        logger.fine("Saved contacts records: " + this.getStats());
+    }
+
+    /**
+     * Does nothing, as saving writes before returning.
+     */
+    @Override
+    public void flushContacts() {}
+
+    private Contacts read(ByteBuffer buffer) throws IOException, IllegalValueException {
+        this.clearIndex();
+        if (buffer.remaining() < RecordContactsStorage.HEADER_BYTES
+                || buffer.getInt() != RecordContactsStorage.MAGIC) {
+            throw new IOException("Not a contacts records file");
+        }
+        int version = buffer.getInt();
+        if (version != RecordContactsStorage.VERSION) {
+            throw new IOException("Unsupported contacts records file version " + version);
+        }
+
+        JsonContactConverter converter = new JsonContactConverter();
+        List<Record> contactRecords = new ArrayList<>();
+        int skippedCount = 0;
+        byte[] bytes = new byte[256];
+        while (buffer.hasRemaining()) {
+            long offset = buffer.position();
+            if (buffer.remaining() < RecordContactsStorage.RECORD_HEADER_BYTES) {
+                skippedCount += this.skipTail(offset);
+                break;
+            }
+            int capacity = buffer.getInt();
+            int length = buffer.getInt();
+            int checksum = buffer.getInt();
+            if (capacity < 0 || capacity > buffer.remaining()) {
+                skippedCount += this.skipTail(offset);
+                break;
+            }
+
+            if (length == RecordContactsStorage.DELETED) {
+                this.addDeleted(offset, capacity);
+                buffer.position(buffer.position() + capacity);
+                continue;
+            }
+
+            if (length > 0 && length <= capacity) {
+                if (length > bytes.length) {
+                    bytes = new byte[Math.max(length, bytes.length * 2)];
+                }
+                buffer.get(bytes, 0, length);
+            }
+            buffer.position((int) offset + RecordContactsStorage.RECORD_HEADER_BYTES + capacity);
+            CRC32 crc = new CRC32();
+            crc.update(bytes, 0, Math.max(length, 0));
+            if (length <= 0 || length > capacity || (int) crc.getValue() != checksum) {
+                logger.warning(String.format(
+                    "Skipping contacts record at offset %d of %s, which was only partly written.",
+                    offset,
+                    this.path
+                ));
+                skippedCount++;
+                continue;
+            }
+
+            String json = new String(bytes, 0, length, StandardCharsets.UTF_8);
+            converter.add(JsonUtil.fromJsonString(json, JsonContact.class));
+            contactRecords.add(new Record(offset, capacity, length));
+        }
+
+        List<Contact> contactList = converter.finish();
+        for (int i = 0; i < contactList.size(); i++) {
+            this.addRecord(contactList.get(i), contactRecords.get(i));
+        }
+        this.fileBytes = buffer.limit();
+        // Skipped records are dropped by rewriting the file on the next save
+        this.saved = skippedCount == 0 ? contactList.toArray(new Contact[0]) : null;
+
+        Contacts modelContacts = new Contacts();
+        modelContacts.setContacts(contactList);
+        return modelContacts;
+    }
+
+    /**
+     * Writes the specified {@link Contact}s to a new file, atomically
+     * replacing the existing one, with every record given fresh slack.
+     */
+    private void rewrite(List<Contact> contacts) throws IOException {
+        List<byte[]> data = new ArrayList<>(contacts.size());
+        for (Contact contact : contacts) {
+            data.add(RecordContactsStorage.serialize(contact));
+        }
+
+        FileUtil.writeAtomically(
+            this.path,
+            output -> {
+                DataOutputStream dataOutput = new DataOutputStream(output);
+                dataOutput.writeInt(RecordContactsStorage.MAGIC);
+                dataOutput.writeInt(RecordContactsStorage.VERSION);
+                for (byte[] contactData : data) {
+                    dataOutput.write(RecordContactsStorage.toRecord(
+                        contactData,
+                        RecordContactsStorage.capacityFor(contactData.length)
+                    ).array());
+                }
+                dataOutput.flush();
+            },
+            this.durability
+        );
+
+        this.clearIndex();
+        long offset = RecordContactsStorage.HEADER_BYTES;
+        for (int i = 0; i < contacts.size(); i++) {
+            int length = data.get(i).length;
+            Record record = new Record(offset, RecordContactsStorage.capacityFor(length), length);
+            this.addRecord(contacts.get(i), record);
+            offset += RecordContactsStorage.RECORD_HEADER_BYTES + record.capacity;
+        }
+        this.fileBytes = offset;
+        this.saved = contacts.toArray(new Contact[0]);
+    }
+
+    /**
+     * Writes only the records of {@link Contact}s changed since the last save
+     * or read, unless that would waste too much of the file.
+     */
+    private void patch(List<Contact> contacts) throws IOException {
+        List<Contact> added = new ArrayList<>();
+        List<Contact> removed = new ArrayList<>();
+        this.diff(contacts, added, removed);
+        if (added.isEmpty() && removed.isEmpty()) {
+            return;
+        }
+
+        // Records of removed and edited contacts are only freed once their
+        // replacements are on disk, so are not reused by this patch
+        List<Record> freed = new ArrayList<>(removed.size());
+        for (Contact contact : removed) {
+            freed.add(this.removeRecord(contact));
+        }
+
+        // No live record is written over, so write order within these does
+        // not matter, and they go in file order
+        Map<Long, ByteBuffer> writes = new TreeMap<>();
+        for (Contact contact : added) {
+            byte[] data = RecordContactsStorage.serialize(contact);
+            Map.Entry<Integer, Deque<Long>> fit = this.deleted.ceilingEntry(data.length);
+            if (fit != null) {
+                this.placeAt(contact, this.takeDeleted(fit), fit.getKey(), data, writes);
+            } else {
+                int capacity = RecordContactsStorage.capacityFor(data.length);
+                long offset = this.fileBytes;
+                this.fileBytes += RecordContactsStorage.RECORD_HEADER_BYTES + capacity;
+                this.placeAt(contact, offset, capacity, data, writes);
+            }
+        }
+        for (Record record : freed) {
+            this.addDeleted(record.offset, record.capacity);
+        }
+
+        if (this.isOverWasted()) {
+            logger.info("Rewriting contacts records file, as too much of it is wasted: " + this.getStats());
+            this.rewrite(contacts);
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(this.path, StandardOpenOption.WRITE)) {
+            for (Map.Entry<Long, ByteBuffer> write : writes.entrySet()) {
+                RecordContactsStorage.writeFully(channel, write.getValue(), write.getKey());
+            }
+            if (this.durability != Durability.NONE && !writes.isEmpty() && !freed.isEmpty()) {
+                channel.force(false);
+            }
+            for (Record record : freed) {
+                ByteBuffer mark = ByteBuffer.allocate(Integer.BYTES);
+                mark.putInt(RecordContactsStorage.DELETED).flip();
+                RecordContactsStorage.writeFully(channel, mark, record.offset + Integer.BYTES);
+            }
+            if (this.durability != Durability.NONE) {
+                channel.force(false);
+            }
+        }
+        this.saved = contacts.toArray(new Contact[0]);
+    }
+
+    /**
+     * Collects into the specified lists the {@link Contact}s added and
+     * removed since the last save or read. An edited {@link Contact} is both.
+     *
+     * The model edits in place and adds at the end, so most positions still
+     * hold the same instance, and only the rest need comparing by identity.
+     */
+    private void diff(List<Contact> contacts, List<Contact> added, List<Contact> removed) {
+        Set<Contact> unmatchedSaved = Collections.newSetFromMap(new IdentityHashMap<>());
+        List<Contact> unmatched = new ArrayList<>();
+        int commonSize = Math.min(contacts.size(), this.saved.length);
+        for (int i = 0; i < commonSize; i++) {
+            Contact contact = contacts.get(i);
+            if (contact != this.saved[i]) {
+                unmatched.add(contact);
+                unmatchedSaved.add(this.saved[i]);
+            }
+        }
+        unmatched.addAll(contacts.subList(commonSize, contacts.size()));
+        unmatchedSaved.addAll(Arrays.asList(this.saved).subList(commonSize, this.saved.length));
+
+        for (Contact contact : unmatched) {
+            // Otherwise only moved
+            if (!unmatchedSaved.remove(contact)) {
+                added.add(contact);
+            }
+        }
+        removed.addAll(unmatchedSaved);
+    }
+
+    /**
+     * Logs that the file ends in a record only partly appended, starting at
+     * the specified offset.
+     *
+     * @return The number of records skipped, being 1.
+     */
+    private int skipTail(long offset) {
+        logger.warning(String.format(
+            "Skipping the last contacts record, at offset %d of %s, which was only partly appended.",
+            offset,
+            this.path
+        ));
+        return 1;
+    }
+
+    private void placeAt(Contact contact, long offset, int capacity, byte[] data, Map<Long, ByteBuffer> writes) {
+        writes.put(offset, RecordContactsStorage.toRecord(data, capacity));
+        this.addRecord(contact, new Record(offset, capacity, data.length));
+    }
+
+    private boolean isOverWasted() {
+        long wasted = this.slackBytes + this.deletedBytes;
+        return wasted * 100 > (long) this.maxWastePercent * this.fileBytes;
+    }
+
+    private void clearIndex() {
+        this.records.clear();
+        this.deleted.clear();
+        this.fileBytes = RecordContactsStorage.HEADER_BYTES;
+        this.slackBytes = 0;
+        this.deletedCount = 0;
+        this.deletedBytes = 0;
+    }
+
+    private void addRecord(Contact contact, Record record) {
+        this.records.put(contact, record);
+        this.slackBytes += record.capacity - record.length;
+    }
+
+    private Record removeRecord(Contact contact) {
+        Record record = this.records.remove(contact);
+        this.slackBytes -= record.capacity - record.length;
+        return record;
+    }
+
+    private void addDeleted(long offset, int capacity) {
+        this.deleted.computeIfAbsent(capacity, key -> new ArrayDeque<>()).add(offset);
+        this.deletedCount++;
+        this.deletedBytes += RecordContactsStorage.RECORD_HEADER_BYTES + capacity;
+    }
+
+    private long takeDeleted(Map.Entry<Integer, Deque<Long>> entry) {
+        long offset = entry.getValue().removeFirst();
+        if (entry.getValue().isEmpty()) {
+            this.deleted.remove(entry.getKey());
+        }
+        this.deletedCount--;
+        this.deletedBytes -= RecordContactsStorage.RECORD_HEADER_BYTES + entry.getKey();
+        return offset;
+    }
+
+    private static byte[] serialize(Contact contact) throws IOException {
+        return JsonUtil.toCompactJsonString(new JsonContact(contact)).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static int capacityFor(int length) {
+        return length + length / RecordContactsStorage.SLACK_DIVISOR + RecordContactsStorage.MIN_SLACK;
+    }
+
+    /**
+     * Returns a whole record holding the specified data, with the rest of the
+     * specified capacity zeroed.
+     */
+    private static ByteBuffer toRecord(byte[] data, int capacity) {
+        CRC32 crc = new CRC32();
+        crc.update(data);
+        ByteBuffer record = ByteBuffer.allocate(RecordContactsStorage.RECORD_HEADER_BYTES + capacity);
+        record.putInt(capacity).putInt(data.length).putInt((int) crc.getValue()).put(data);
+        return record.clear();
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        long end = position + buffer.remaining();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer, end - buffer.remaining());
+        }
+    }
+
+    /**
+     * Where a {@link Contact}'s record is in the file.
+     */
+    private static class Record {
+        private final long offset;
+        private final int capacity;
+        private final int length;
+
+        Record(long offset, int capacity, int length) {
+            this.offset = offset;
+            this.capacity = capacity;
+            this.length = length;
+        }
+    }
+
+    /**
+     * How much of a records file is taken up by slack and deleted records.
+     */
+    public static class Stats {
+        private final int recordCount;
+        private final int deletedCount;
+        private final long fileBytes;
+        private final long slackBytes;
+        private final long deletedBytes;
+
+        Stats(int recordCount, int deletedCount, long fileBytes, long slackBytes, long deletedBytes) {
+            this.recordCount = recordCount;
+            this.deletedCount = deletedCount;
+            this.fileBytes = fileBytes;
+            this.slackBytes = slackBytes;
+            this.deletedBytes = deletedBytes;
+        }
+
+        public int getRecordCount() {
+            return this.recordCount;
+        }
+
+        public int getDeletedCount() {
+            return this.deletedCount;
+        }
+
+        public long getFileBytes() {
+            return this.fileBytes;
+        }
+
+        public long getSlackBytes() {
+            return this.slackBytes;
+        }
+
+        public long getDeletedBytes() {
+            return this.deletedBytes;
+        }
+
+        /**
+         * Returns the percentage of the file that is slack or deleted records.
+         */
+        public int getWastePercent() {
+            return this.fileBytes == 0 ? 0 : (int) ((this.slackBytes + this.deletedBytes) * 100 / this.fileBytes);
+        }
+
+        @Override
+        public String toString() {
+            return String.format(
+                "%d records, %d bytes slack, %d deleted records of %d bytes, %d%% of %d bytes wasted",
+                this.recordCount,
+                this.slackBytes,
+                this.deletedCount,
+                this.deletedBytes,
+                this.getWastePercent(),
+                this.fileBytes
+            );
+        }
+    }
+}
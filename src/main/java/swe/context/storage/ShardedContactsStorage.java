@@ -0,0 +1,444 @@
+package swe.context.storage;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import swe.context.annotation.Nullable;
+import swe.context.commons.core.LogsCenter;
+import swe.context.commons.exceptions.DataLoadingException;
+import swe.context.commons.exceptions.IllegalValueException;
+import swe.context.commons.util.Durability;
+import swe.context.commons.util.FileUtil;
+import swe.context.commons.util.JsonUtil;
+import swe.context.commons.util.StringUtil;
+import swe.context.logic.Messages;
+import swe.context.model.Contacts;
+import swe.context.model.ReadOnlyContacts;
+import swe.context.model.contact.Contact;
+import swe.context.model.contact.Name;
+
+
+
+/**
+ * Handles reading and saving {@link Contacts} as several contacts storage
+ * JSON files, called shards, plus a manifest listing them.
+ *
+ * Each {@link Contact} belongs to the shard its {@link Name} hashes to.
+ * Saving rewrites only the shards holding changed {@link Contact}s, so it
+ * costs time proportional to the size of a shard rather than of all
+ * contacts. Reading loads the shards in parallel.
+ *
+ * The shards and manifest are kept in a folder next to the configured
+ * contacts path. If there is no manifest yet, the file at the contacts path
+ * is read instead, and split into shards on the next save. Once sharding is
+ * turned off, {@link #mergeLeftoverShards} merges the shards back into that
+ * file.
+ *
+ * Each shard is replaced atomically, but a save that changes several is not.
+ * Shards gaining a {@link Contact} are written before those losing one, so
+ * an interrupted save can leave a renamed {@link Contact} under both names,
+ * but not under neither.
+ *
+ * Changes are found by comparing which {@link Contact} instances were saved
+ * last time, so this relies on {@link Contact}s being immutable.
+ */
+public class ShardedContactsStorage implements ContactsStorage {
+    private static final Logger logger = LogsCenter.getLogger(ShardedContactsStorage.class);
+
+    private static final String FOLDER_SUFFIX = ".shards";
+    private static final String MANIFEST_NAME = "manifest.json";
+    private static final String UNFORMATTED_SHARD_NAME = "shard-%d-of-%d.json";
+
+    private final Path path;
+    private final Path folder;
+    private final Path manifestPath;
+    private final int shardCount;
+    private final boolean isCompact;
+    private final int compressionLevel;
+    private final Durability durability;
+    private final boolean isSnapshotEnabled;
+
+    // Guarded by this. Each shard's contacts as last saved or read, or null if
+    // the shards must all be rewritten on the next save
+    private @Nullable Contact[][] saved = null;
+
+    /**
+     * Constructs with the specified values.
+     *
+     * @param path Path of the contacts storage JSON file. The shard folder is
+     *     kept next to it.
+     * @param shardCount Number of shards to split contacts into.
+     * @param isCompact Whether to write shards without indentation and line
+     *     breaks.
+     * @param compressionLevel How hard to compress the file at the contacts
+     *     path if gzipped, when leftovers are folded into it before it is
+     *     read in place of shards.
+     * @param durability How far writes of each shard are forced to disk.
+     * @param isSnapshotEnabled Whether to read the file at the contacts path,
+     *     when read in place of shards, from a {@link ContactsSnapshot} of it.
+     */
+    public ShardedContactsStorage(
+        Path path,
+        int shardCount,
+        boolean isCompact,
+        int compressionLevel,
+        Durability durability,
+        boolean isSnapshotEnabled
+    ) {
+        requireNonNull(path);
+        requireNonNull(durability);
+        if (shardCount < 1) {
+            throw new IllegalArgumentException("Shard count must be positive: " + shardCount);
+        }
+
+        this.path = path;
+        this.folder = path.resolveSibling(path.getFileName() + ShardedContactsStorage.FOLDER_SUFFIX);
+        this.manifestPath = this.folder.resolve(ShardedContactsStorage.MANIFEST_NAME);
+        this.shardCount = shardCount;
+        this.isCompact = isCompact;
+        this.compressionLevel = compressionLevel;
+        this.durability = durability;
+        this.isSnapshotEnabled = isSnapshotEnabled;
+    }
+
+    @Override
+    public Path getContactsPath() {
+        return this.path;
+    }
+
+    public Path getShardFolder() {
+        return this.folder;
+    }
+
+    /**
+     * Returns the path of the specified shard under this storage's shard
+     * count.
+     */
+    public Path getShardPath(int shard) {
+        return this.folder.resolve(String.format(
+            ShardedContactsStorage.UNFORMATTED_SHARD_NAME,
+            shard,
+            this.shardCount
+        ));
+    }
+
+    /**
+     * Returns the shard the specified {@link Name} belongs to, out of the
+     * specified number of shards.
+     *
+     * {@link String#hashCode()} is specified exactly, so this is the same on
+     * every run. Its bits are mixed, as similar names differ in few of them.
+     */
+    static int shardOf(Name name, int shardCount) {
+        int hash = name.value.hashCode();
+        hash ^= hash >>> 16;
+        hash *= 0x85EBCA6B;
+        hash ^= hash >>> 13;
+        return Math.floorMod(hash, shardCount);
+    }
+
+    /**
+     * Merges any shards left next to the specified contacts JSON file back
+     * into that file, then deletes the shard folder.
+     *
+     * For when sharding is turned off, as the file is not updated while
+     * contacts are sharded.
+     *
+     * @return Whether there were shards to merge.
+     * @throws DataLoadingException If the shards cannot be read.
+     * @throws IOException If the file cannot be written, or the shards
+     *     deleted.
+     */
+    public static boolean mergeLeftoverShards(
+        Path path,
+        boolean isCompact,
+        int compressionLevel,
+        Durability durability
+    ) throws DataLoadingException, IOException {
+        ShardedContactsStorage storage = new ShardedContactsStorage(
+            path,
+            1,
+            isCompact,
+            compressionLevel,
+            durability,
+            false
+        );
+        if (!Files.exists(storage.manifestPath)) {
+            return false;
+        }
+
+        Contacts contacts = storage.readContacts().get();
+        JsonContactsWriter.write(contacts.getUnmodifiableList(), path, isCompact, compressionLevel, durability);
+
+        // The manifest first, as without it the file is read instead
+        Files.delete(storage.manifestPath);
+        List<Path> shardPaths;
+        try (Stream<Path> files = Files.list(storage.folder)) {
+            shardPaths = files.collect(Collectors.toList());
+        }
+        for (Path shardPath : shardPaths) {
+            Files.deleteIfExists(shardPath);
+        }
+        Files.deleteIfExists(storage.folder);
+        return true;
+    }
+
+    @Override
+    public synchronized Optional<Contacts> readContacts() throws DataLoadingException {
+        if (!Files.exists(this.manifestPath)) {
+            this.saved = null;
+            return new JsonContactsStorage(
+                this.path,
+                this.isCompact,
+                this.compressionLevel,
+                this.durability,
+                this.isSnapshotEnabled
+            ).readContacts();
+        }
+        logger.info("Shard manifest " + this.manifestPath + " found.");
+
+        List<Contact> contacts;
+        List<List<Contact>> shards;
+        boolean isArrangedAsConfigured;
+        try {
+            JsonShardManifest manifest = JsonUtil.readJsonFile(this.manifestPath, JsonShardManifest.class)
+                    .orElseThrow(() -> new IOException("Shard manifest disappeared while reading"));
+            List<Path> shardPaths = manifest.toShardPaths(this.folder);
+            shards = this.readShards(shardPaths);
+
+            contacts = new ArrayList<>();
+            Set<Name> names = new HashSet<>();
+            isArrangedAsConfigured = shards.size() == this.shardCount;
+            for (int i = 0; i < shards.size(); i++) {
+                for (Contact contact : shards.get(i)) {
+                    if (!names.add(contact.getName())) {
+                        throw new IllegalValueException(Messages.CONVERT_CONTACTS_DUPLICATE);
+                    }
+                    isArrangedAsConfigured &= ShardedContactsStorage.shardOf(contact.getName(), this.shardCount) == i;
+                }
+                contacts.addAll(shards.get(i));
+            }
+            isArrangedAsConfigured &= shardPaths.equals(this.getShardPaths());
+        } catch (IOException e) {
+            logger.warning("Error reading from contacts shards in " + this.folder + ": " + e);
+            throw new DataLoadingException(e);
+        } catch (IllegalValueException e) {
+            logger.info(String.format(
+                "Found illegal values after reading contacts storage shards."
+                + "\nPath: %s"
+                + "\nDetails: %s",
+                this.folder,
+                StringUtil.getDetails(e)
+            ));
+            throw new DataLoadingException(e);
+        }
+
+        // Shards written under another shard count, or edited by hand, are
+        // all rewritten as configured on the next save
+        this.saved = isArrangedAsConfigured ? ShardedContactsStorage.toArrays(shards) : null;
+
+        Contacts modelContacts = new Contacts();
+        modelContacts.setContacts(contacts);
+        return Optional.of(modelContacts);
+    }
+
+    /**
+     * Rewrites the shards holding {@link Contact}s changed since contacts
+     * were last saved or read.
+     *
+     * If contacts were neither, or the shards were arranged differently, all
+     * shards and the manifest are written instead, and other files in the
+     * shard folder deleted.
+     */
+    @Override
+    public synchronized void saveContacts(ReadOnlyContacts contacts) throws IOException {
+        List<List<Contact>> shards = new ArrayList<>(this.shardCount);
+        for (int i = 0; i < this.shardCount; i++) {
+            shards.add(new ArrayList<>());
+        }
+        for (Contact contact : contacts.getUnmodifiableList()) {
+            shards.get(ShardedContactsStorage.shardOf(contact.getName(), this.shardCount)).add(contact);
+        }
+
+        boolean isFullWrite = this.saved == null;
+        List<Integer> dirtyShards = isFullWrite ? this.getAllShards() : this.diff(shards);
+        if (dirtyShards.isEmpty()) {
+            return;
+        }
+
+        // Saved only once done, so any failure leads to a full write next time
+        this.saved = null;
+        for (int shard : dirtyShards) {
+            JsonContactsWriter.write(shards.get(shard), this.getShardPath(shard), this.isCompact, this.durability);
+        }
+        if (isFullWrite) {
+            this.writeManifest();
+            this.deleteOtherFiles();
+        }
+        this.saved = ShardedContactsStorage.toArrays(shards);
+    }
+
+    /**
+     * Does nothing, as saving writes before returning.
+     */
+    @Override
+    public void flushContacts() {}
+
+    /**
+     * Returns the shards whose {@link Contact}s differ from when they were
+     * last saved, with those gaining a {@link Contact} first.
+     *
+     * Shards are compared by the identity of their {@link Contact}s in order.
+     * Removing or adding a {@link Contact} leaves the order of the others in
+     * every other shard as it was, so only its own shard changes.
+     */
+    private List<Integer> diff(List<List<Contact>> shards) {
+        List<Integer> gainingShards = new ArrayList<>();
+        List<Integer> losingShards = new ArrayList<>();
+        for (int i = 0; i < this.shardCount; i++) {
+            List<Contact> shard = shards.get(i);
+            Contact[] savedShard = this.saved[i];
+            if (ShardedContactsStorage.isSame(shard, savedShard)) {
+                continue;
+            }
+
+            Set<Contact> savedContacts = Collections.newSetFromMap(new IdentityHashMap<>());
+            savedContacts.addAll(Arrays.asList(savedShard));
+            if (shard.stream().allMatch(savedContacts::contains)) {
+                losingShards.add(i);
+            } else {
+                gainingShards.add(i);
+            }
+        }
+
+        gainingShards.addAll(losingShards);
+        return gainingShards;
+    }
+
+    /**
+     * Reads the specified shard files in parallel, returning their
+     * {@link Contact}s in the same order.
+     */
+    private List<List<Contact>> readShards(List<Path> shardPaths) throws IOException, IllegalValueException {
+        int threadCount = Math.min(shardPaths.size(), Runtime.getRuntime().availableProcessors());
+        ExecutorService loaders = Executors.newFixedThreadPool(threadCount, runnable -> {
+            Thread thread = new Thread(runnable, "contacts-shard-loader");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        try {
+            List<Future<List<Contact>>> futures = new ArrayList<>(shardPaths.size());
+            for (Path shardPath : shardPaths) {
+                futures.add(loaders.submit(() -> JsonContactsReader.readList(shardPath)));
+            }
+
+            List<List<Contact>> shards = new ArrayList<>(shardPaths.size());
+            for (Future<List<Contact>> future : futures) {
+                shards.add(future.get());
+            }
+            return shards;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while reading contacts shards");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IllegalValueException) {
+                throw (IllegalValueException) e.getCause();
+            }
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException(e.getCause());
+        } finally {
+            loaders.shutdownNow();
+        }
+    }
+
+    private void writeManifest() throws IOException {
+        List<String> shardNames = this.getShardPaths()
+                .stream()
+                .map(shardPath -> shardPath.getFileName().toString())
+                .collect(Collectors.toList());
+        byte[] bytes = JsonUtil.toJsonString(new JsonShardManifest(shardNames)).getBytes(StandardCharsets.UTF_8);
+        FileUtil.writeAtomically(this.manifestPath, output -> output.write(bytes), this.durability);
+    }
+
+    /**
+     * Deletes files in the shard folder that the manifest no longer lists,
+     * such as shards written under another shard count.
+     */
+    private void deleteOtherFiles() throws IOException {
+        Set<Path> kept = new HashSet<>(this.getShardPaths());
+        kept.add(this.manifestPath);
+
+        List<Path> others;
+        try (Stream<Path> files = Files.list(this.folder)) {
+            others = files
+                    .filter(file -> Files.isRegularFile(file) && !kept.contains(file))
+                    .collect(Collectors.toList());
+        }
+        for (Path other : others) {
+            Files.deleteIfExists(other);
+        }
+    }
+
+    private List<Path> getShardPaths() {
+        List<Path> shardPaths = new ArrayList<>(this.shardCount);
+        for (int i = 0; i < this.shardCount; i++) {
+            shardPaths.add(this.getShardPath(i));
+        }
+        return shardPaths;
+    }
+
+    private List<Integer> getAllShards() {
+        List<Integer> shards = new ArrayList<>(this.shardCount);
+        for (int i = 0; i < this.shardCount; i++) {
+            shards.add(i);
+        }
+        return shards;
+    }
+
+    /**
+     * Returns whether the specified shard holds the same {@link Contact}
+     * instances, in the same order, as the specified saved shard.
+     */
+    private static boolean isSame(List<Contact> shard, Contact[] savedShard) {
+        if (shard.size() != savedShard.length) {
+            return false;
+        }
+        for (int i = 0; i < savedShard.length; i++) {
+            if (shard.get(i) != savedShard[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Contact[][] toArrays(List<List<Contact>> shards) {
+        Contact[][] arrays = new Contact[shards.size()][];
+        for (int i = 0; i < shards.size(); i++) {
+            arrays[i] = shards.get(i).toArray(new Contact[0]);
+        }
+        return arrays;
+    }
+}
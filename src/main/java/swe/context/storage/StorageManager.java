@@ -47,6 +47,11 @@ public class StorageManager implements Storage {
         this.contactsStorage.saveContacts(contacts);
     }
 
+    @Override
+    public void flushContacts() throws IOException {
+        this.contactsStorage.flushContacts();
+    }
+
     @Override
     public Path getSettingsPath() {
         return this.settingsStorage.getSettingsPath();
@@ -1,13 +1,29 @@
 package swe.context.commons.util;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.stream.Stream;
+
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 
 
 public class FileUtilTest {
+    @TempDir
+    public Path tempDir;
+
     @Test
     public void isValidPath() {
         // valid path
@@ -16,4 +32,74 @@ public class FileUtilTest {
         // invalid path
         assertFalse(FileUtil.isValidPath("a\0"));
     }
+
+    @Test
+    public void openForReading_smallAndLarge_allBytesRead() throws IOException {
+        for (int size : new int[] {0, 100, 1 << 20}) {
+            byte[] content = this.writeRandomFile(size);
+
+            try (InputStream input = FileUtil.openForReading(this.tempDir.resolve("file.bin"))) {
+                assertArrayEquals(content, input.readAllBytes());
+                assertEquals(-1, input.read());
+            }
+        }
+    }
+
+    @Test
+    public void readToBuffer_smallAndLarge_allBytesRead() throws IOException {
+        for (int size : new int[] {0, 100, 1 << 20}) {
+            byte[] content = this.writeRandomFile(size);
+
+            ByteBuffer buffer = FileUtil.readToBuffer(this.tempDir.resolve("file.bin"));
+            byte[] bytes = new byte[buffer.remaining()];
+            buffer.get(bytes);
+            assertArrayEquals(content, bytes);
+        }
+    }
+
+    @Test
+    public void openForReading_missingFile_throwsIoException() {
+        assertThrows(IOException.class, () -> FileUtil.openForReading(this.tempDir.resolve("missing.bin")));
+        assertThrows(IOException.class, () -> FileUtil.readToBuffer(this.tempDir.resolve("missing.bin")));
+    }
+
+    @Test
+    public void writeAtomically_everyDurability_contentReplaced() throws IOException {
+        Path path = this.tempDir.resolve("folder/file.txt");
+
+        for (Durability durability : Durability.values()) {
+            byte[] content = ("Written with " + durability).getBytes(StandardCharsets.UTF_8);
+            FileUtil.writeAtomically(path, output -> output.write(content), durability);
+
+            assertEquals("Written with " + durability, FileUtil.readFromFile(path));
+        }
+        assertEquals(1, this.countFiles(path.getParent()));
+    }
+
+    @Test
+    public void writeAtomically_writerFails_originalKept() throws IOException {
+        Path path = this.tempDir.resolve("file.txt");
+        FileUtil.writeToFile(path, "Original");
+
+        assertThrows(IOException.class, () -> FileUtil.writeAtomically(path, output -> {
+            output.write("Partial".getBytes(StandardCharsets.UTF_8));
+            throw new IOException("Dummy IOException");
+        }, Durability.FILE));
+
+        assertEquals("Original", FileUtil.readFromFile(path));
+        assertEquals(1, this.countFiles(this.tempDir));
+    }
+
+    private byte[] writeRandomFile(int size) throws IOException {
+        byte[] content = new byte[size];
+        new Random(size).nextBytes(content);
+        Files.write(this.tempDir.resolve("file.bin"), content);
+        return content;
+    }
+
+    private long countFiles(Path folder) throws IOException {
+        try (Stream<Path> files = Files.list(folder)) {
+            return files.count();
+        }
+    }
 }
@@ -0,0 +1,67 @@
+package swe.context.commons.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class IntIntMapTest {
+    private final IntIntMap map = new IntIntMap();
+
+    @Test
+    public void get_absentKey_returnsAbsent() {
+        assertEquals(IntIntMap.ABSENT, map.get(7));
+        assertEquals(IntIntMap.ABSENT, map.remove(7));
+    }
+
+    @Test
+    public void put_existingKey_replacesValue() {
+        map.put(7, 1);
+        map.put(7, 2);
+        assertEquals(2, map.get(7));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    public void put_extremeKeys_storedLikeOthers() {
+        int[] keys = {-1, Integer.MIN_VALUE, Integer.MAX_VALUE, 0};
+        for (int i = 0; i < keys.length; i++) {
+            map.put(keys[i], i);
+        }
+        assertEquals(keys.length, map.size());
+        for (int i = 0; i < keys.length; i++) {
+            assertEquals(i, map.get(keys[i]));
+        }
+
+        assertEquals(0, map.remove(-1));
+        assertEquals(IntIntMap.ABSENT, map.get(-1));
+        assertEquals(keys.length - 1, map.size());
+    }
+
+    @Test
+    public void randomOperations_matchHashMap() {
+        Map<Integer, Integer> expected = new HashMap<>();
+        Random random = new Random(0);
+        for (int i = 0; i < 20000; i++) {
+            int key = random.nextInt(500) - 250;
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.getOrDefault(key, IntIntMap.ABSENT), map.remove(key));
+                expected.remove(key);
+            } else {
+                map.put(key, i);
+                expected.put(key, i);
+            }
+            assertEquals(expected.size(), map.size());
+        }
+        for (int key = -250; key < 250; key++) {
+            assertEquals(expected.getOrDefault(key, IntIntMap.ABSENT), map.get(key));
+        }
+
+        map.clear();
+        assertEquals(0, map.size());
+        assertEquals(IntIntMap.ABSENT, map.get(expected.keySet().iterator().next()));
+    }
+}
@@ -0,0 +1,37 @@
+package swe.context.commons.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static swe.context.testutil.Assert.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+public class InternerTest {
+    private final Interner<String> interner = new Interner<>();
+
+    @Test
+    public void intern_null_throwsNullPointerException() {
+        assertThrows(NullPointerException.class, () -> interner.intern(null));
+    }
+
+    @Test
+    public void intern_equalValues_firstInstanceReturned() {
+        String first = new String("value");
+        String second = new String("value");
+        assertNotSame(first, second);
+
+        assertSame(first, interner.intern(first));
+        assertSame(first, interner.intern(second));
+        assertEquals(1, interner.size());
+    }
+
+    @Test
+    public void intern_differentValues_differentInstances() {
+        String first = interner.intern(new String("first"));
+        String second = interner.intern(new String("second"));
+
+        assertNotSame(first, second);
+        assertEquals(2, interner.size());
+    }
+}
@@ -0,0 +1,55 @@
+package swe.context.commons.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static swe.context.testutil.Assert.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+public class StringTableTest {
+    private final StringTable table = new StringTable();
+
+    @Test
+    public void add_equalStrings_sameId() {
+        int id = table.add("alice");
+        assertEquals(id, table.add(new String("alice")));
+        assertNotEquals(id, table.add("bob"));
+        assertEquals(2, table.size());
+    }
+
+    @Test
+    public void get_manyStrings_roundTrips() {
+        int[] ids = new int[1000];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = table.add("value " + i + " \u00e9\u4f60");
+        }
+        table.add("");
+        table.trimToSize();
+
+        for (int i = 0; i < ids.length; i++) {
+            assertEquals("value " + i + " \u00e9\u4f60", table.get(ids[i]));
+        }
+        assertEquals("", table.get(ids.length));
+    }
+
+    @Test
+    public void getByteCount_trimmed_bytesAndOffsets() {
+        table.add("alice");
+        table.add("bob");
+        table.add("alice");
+        table.trimToSize();
+        assertEquals(8 + 3 * Integer.BYTES, table.getByteCount());
+    }
+
+    @Test
+    public void add_afterTrim_throwsIllegalStateException() {
+        table.trimToSize();
+        assertThrows(IllegalStateException.class, () -> table.add("alice"));
+    }
+
+    @Test
+    public void get_invalidId_throwsIndexOutOfBoundsException() {
+        table.add("alice");
+        assertThrows(IndexOutOfBoundsException.class, () -> table.get(1));
+    }
+}
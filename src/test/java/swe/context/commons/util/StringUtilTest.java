@@ -1,6 +1,8 @@
 package swe.context.commons.util;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static swe.context.testutil.Assert.assertThrows;
 
@@ -131,6 +133,20 @@ public class StringUtilTest {
         assertTrue(StringUtil.containsWordIgnoreCase("AAA bBb ccc  bbb", "bbB"));
     }
 
+    //---------------- Tests for foldCase --------------------------------------
+
+    @Test
+    public void foldCase_nullString_throwsNullPointerException() {
+        assertThrows(NullPointerException.class, () -> StringUtil.foldCase(null));
+    }
+
+    @Test
+    public void foldCase_equalIgnoringCase_sameFoldedForm() {
+        assertEquals(StringUtil.foldCase("aBc 1"), StringUtil.foldCase("AbC 1"));
+        assertEquals(StringUtil.foldCase("\u0131"), StringUtil.foldCase("i")); // Dotless i
+        assertNotEquals(StringUtil.foldCase("abc"), StringUtil.foldCase("abd"));
+    }
+
     //---------------- Tests for getDetails --------------------------------------
 
     /*
@@ -77,6 +77,24 @@ public class LogicManagerTest {
                 Messages.fileOpsPermissionErrorFormat(DUMMY_AD_EXCEPTION.getMessage()));
     }
 
+    @Test
+    public void execute_contactsUnchangedSinceSave_skipsSave() throws Exception {
+        LogicManager logicManager = (LogicManager) logic;
+        String addCommand = AddCommand.COMMAND_WORD + TestData.Valid.NAME_DESC_AMY + TestData.Valid.PHONE_DESC_AMY
+                + TestData.Valid.EMAIL_DESC_AMY + TestData.Valid.NOTE_DESC_AMY;
+
+        // First command always saves
+        logicManager.execute(ListCommand.COMMAND_WORD);
+        logicManager.execute(ListCommand.COMMAND_WORD);
+        assertEquals(1, logicManager.getSaveCount());
+        assertEquals(1, logicManager.getSkippedSaveCount());
+
+        logicManager.execute(addCommand);
+        logicManager.execute(ListCommand.COMMAND_WORD);
+        assertEquals(2, logicManager.getSaveCount());
+        assertEquals(2, logicManager.getSkippedSaveCount());
+    }
+
     @Test
     public void getFilteredContactList_modifyList_throwsUnsupportedOperationException() {
         assertThrows(UnsupportedOperationException.class, () -> logic.getFilteredContactList().remove(0));
@@ -9,6 +9,9 @@ import static swe.context.testutil.TestData.Valid.Contact.ALICE;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.function.Predicate;
 
 import org.junit.jupiter.api.Test;
@@ -138,6 +141,31 @@ public class AddCommandTest {
             throw new AssertionError("This method should not be called.");
         }
 
+        @Override
+        public void addContacts(List<Contact> contacts) {
+            throw new AssertionError("This method should not be called.");
+        }
+
+        @Override
+        public void updateContacts(Map<Contact, Contact> updates) {
+            throw new AssertionError("This method should not be called.");
+        }
+
+        @Override
+        public void removeContacts(List<Contact> contacts) {
+            throw new AssertionError("This method should not be called.");
+        }
+
+        @Override
+        public Set<Contact> findContactsByName(List<String> keywords) {
+            throw new AssertionError("This method should not be called.");
+        }
+
+        @Override
+        public Set<Contact> findContactsByTag(String tagValue) {
+            throw new AssertionError("This method should not be called.");
+        }
+
         @Override
         public Settings getSettings() {
             throw new AssertionError("This method should not be called.");
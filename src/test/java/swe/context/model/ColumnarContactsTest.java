@@ -0,0 +1,50 @@
+package swe.context.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static swe.context.testutil.Assert.assertThrows;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import swe.context.model.contact.Contact;
+import swe.context.testutil.TestData;
+
+public class ColumnarContactsTest {
+    private final List<Contact> typicalContacts =
+            TestData.Valid.Contact.getTypicalContacts().getUnmodifiableList();
+
+    @Test
+    public void constructor_noContacts_isEmpty() {
+        assertEquals(0, new ColumnarContacts(Collections.emptyList()).size());
+    }
+
+    @Test
+    public void load_typicalContacts_equalToAdded() {
+        ColumnarContacts contacts = new ColumnarContacts(typicalContacts);
+        assertEquals(typicalContacts.size(), contacts.size());
+        for (int i = 0; i < typicalContacts.size(); i++) {
+            Contact expected = typicalContacts.get(i);
+            assertEquals(expected, contacts.load(expected.getName(), i));
+        }
+    }
+
+    @Test
+    public void getByteCount_repeatedValues_storedOnce() {
+        ColumnarContacts once = new ColumnarContacts(typicalContacts.subList(0, 1));
+        ColumnarContacts twice = new ColumnarContacts(List.of(typicalContacts.get(0), typicalContacts.get(0)));
+        long idBytes = (3 + 1 + typicalContacts.get(0).getTags().size()
+                + 1 + typicalContacts.get(0).getAlternates().size()) * Integer.BYTES;
+        assertEquals(once.getByteCount() + idBytes, twice.getByteCount());
+        assertTrue(once.getByteCount() > 0);
+    }
+
+    @Test
+    public void load_outOfRange_throwsIndexOutOfBoundsException() {
+        ColumnarContacts contacts = new ColumnarContacts(typicalContacts);
+        assertThrows(IndexOutOfBoundsException.class, () ->
+                contacts.load(typicalContacts.get(0).getName(), typicalContacts.size()));
+    }
+}
@@ -5,11 +5,13 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static swe.context.testutil.Assert.assertThrows;
 
+import java.util.Arrays;
 import java.util.Collections;
 
 import org.junit.jupiter.api.Test;
 
 import swe.context.model.contact.Contact;
+import swe.context.model.contact.exceptions.DuplicateContactException;
 import swe.context.testutil.ContactBuilder;
 import swe.context.testutil.TestData;
 
@@ -38,6 +40,45 @@ public class ContactsTest {
         assertTrue(contacts.contains(edited));
     }
 
+    @Test
+    public void setContacts_duplicateContacts_throwsDuplicateContactException() {
+        Contacts contacts = new Contacts();
+        assertThrows(
+            DuplicateContactException.class,
+            () -> contacts.setContacts(Arrays.asList(TestData.Valid.Contact.ALICE, TestData.Valid.Contact.ALICE))
+        );
+    }
+
+    @Test
+    public void setContacts_uniqueContacts_replacesContacts() {
+        Contacts contacts = new Contacts();
+        contacts.add(TestData.Valid.Contact.ALICE);
+        contacts.setContacts(Arrays.asList(TestData.Valid.Contact.BOB, TestData.Valid.Contact.CARL));
+
+        assertEquals(
+            Arrays.asList(TestData.Valid.Contact.BOB, TestData.Valid.Contact.CARL),
+            contacts.getUnmodifiableList()
+        );
+        assertFalse(contacts.contains(TestData.Valid.Contact.ALICE));
+    }
+
+    @Test
+    public void findByTag_afterModifications_staysConsistent() {
+        Contacts contacts = TestData.Valid.Contact.getTypicalContacts();
+        assertEquals(3, contacts.countWithTag("friends"));
+
+        contacts.remove(TestData.Valid.Contact.ALICE);
+        assertEquals(2, contacts.countWithTag("friends"));
+
+        Contact retagged = new ContactBuilder(TestData.Valid.Contact.BENSON).withTags().build();
+        contacts.update(TestData.Valid.Contact.BENSON, retagged);
+        assertEquals(1, contacts.countWithTag("friends"));
+        assertTrue(contacts.findByTag("FRIENDS").contains(TestData.Valid.Contact.DANIEL));
+
+        contacts.removeAll();
+        assertEquals(0, contacts.countWithTag("friends"));
+    }
+
     @Test
     public void getUnmodifiableList_modifyList_throwsException() {
         assertThrows(
@@ -5,10 +5,16 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static swe.context.testutil.Assert.assertThrows;
 import static swe.context.testutil.TestData.Valid.Contact.ALICE;
+import static swe.context.testutil.TestData.Valid.Contact.BENSON;
+
+import java.util.List;
+import java.util.Map;
 
 import org.junit.jupiter.api.Test;
 
 import swe.context.commons.core.GuiSettings;
+import swe.context.model.contact.Contact;
+import swe.context.testutil.ContactBuilder;
 
 public class ModelManagerTest {
     private ModelManager modelManager = new ModelManager();
@@ -58,4 +64,16 @@ public class ModelManagerTest {
         assertFalse(modelManager.containsContact(ALICE));
     }
 
+    @Test
+    public void updateContacts_filterSet_contactsReplacedAndFilterKept() {
+        modelManager.addContacts(List.of(ALICE, BENSON));
+        modelManager.setContactsFilter(contact -> contact.getName().equals(BENSON.getName()));
+        Contact editedAlice = new ContactBuilder(ALICE).withNote("Edited").build();
+        Contact editedBenson = new ContactBuilder(BENSON).withNote("Edited").build();
+
+        modelManager.updateContacts(Map.of(ALICE, editedAlice, BENSON, editedBenson));
+
+        assertEquals(List.of(editedAlice, editedBenson), modelManager.getContacts().getUnmodifiableList());
+        assertEquals(List.of(editedBenson), modelManager.getFilteredContactList());
+    }
 }
@@ -3,6 +3,7 @@ package swe.context.model.alternate;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import org.junit.jupiter.api.Test;
@@ -66,4 +67,11 @@ public class AlternateContactTest {
         AlternateContact different = new AlternateContact(TestData.Valid.AlternateContact.ALPHANUMERIC_UNDERSCORE);
         assertFalse(alphanumeric.equals(different));
     }
+
+    @Test
+    public void of_equalValues_sameInstance() {
+        AlternateContact alternate = AlternateContact.of(new String(TestData.Valid.AlternateContact.ALPHANUMERIC));
+        assertSame(alternate, AlternateContact.of(new String(TestData.Valid.AlternateContact.ALPHANUMERIC)));
+        assertEquals(new AlternateContact(TestData.Valid.AlternateContact.ALPHANUMERIC), alternate);
+    }
 }
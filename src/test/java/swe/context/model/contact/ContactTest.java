@@ -2,6 +2,7 @@ package swe.context.model.contact;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import org.junit.jupiter.api.Test;
@@ -93,6 +94,13 @@ public class ContactTest {
         assertFalse(TestData.Valid.Contact.ALICE.equals(editedAlice));
     }
 
+    @Test
+    public void getId_equalContacts_distinctIds() {
+        Contact aliceCopy = new ContactBuilder(TestData.Valid.Contact.ALICE).build();
+        assertEquals(TestData.Valid.Contact.ALICE, aliceCopy);
+        assertNotEquals(TestData.Valid.Contact.ALICE.getId(), aliceCopy.getId());
+    }
+
     @Test
     public void toStringMethod() {
         String expected =
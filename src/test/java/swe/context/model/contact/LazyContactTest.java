@@ -0,0 +1,80 @@
+package swe.context.model.contact;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import swe.context.testutil.ContactBuilder;
+import swe.context.testutil.TestData;
+
+
+
+public class LazyContactTest {
+    /**
+     * Loads a copy of a fixed {@link Contact}, counting how often it does.
+     */
+    private static class CountingSource implements LazyContact.Source {
+        private final Contact contact;
+        private int loadCount = 0;
+
+        public CountingSource(Contact contact) {
+            this.contact = contact;
+        }
+
+        @Override
+        public Contact load(Name name, int position) {
+            this.loadCount++;
+            return new ContactBuilder(this.contact).withName(name.value).build();
+        }
+    }
+
+    @Test
+    public void getName_notLoaded() {
+        CountingSource source = new CountingSource(TestData.Valid.Contact.ALICE);
+        LazyContact contact = new LazyContact(TestData.Valid.Contact.ALICE.getName(), source, 0);
+
+        assertEquals(TestData.Valid.Contact.ALICE.getName(), contact.getName());
+        assertEquals(0, source.loadCount);
+    }
+
+    @Test
+    public void getPhone_loadedOnce() {
+        CountingSource source = new CountingSource(TestData.Valid.Contact.ALICE);
+        LazyContact contact = new LazyContact(TestData.Valid.Contact.ALICE.getName(), source, 0);
+
+        assertEquals(TestData.Valid.Contact.ALICE.getPhone(), contact.getPhone());
+        assertEquals(TestData.Valid.Contact.ALICE.getTags(), contact.getTags());
+        assertEquals(1, source.loadCount);
+    }
+
+    @Test
+    public void equals_sameFieldsAsLoaded() {
+        Contact alice = TestData.Valid.Contact.ALICE;
+        LazyContact contact = new LazyContact(alice.getName(), new CountingSource(alice), 0);
+
+        assertEquals(alice, contact);
+        assertEquals(contact, alice);
+        assertEquals(alice.hashCode(), contact.hashCode());
+    }
+
+    @Test
+    public void getPhone_manyContacts_loadedCountBounded() {
+        CountingSource source = new CountingSource(TestData.Valid.Contact.ALICE);
+        List<LazyContact> contacts = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            contacts.add(new LazyContact(new Name("Person " + i), source, i));
+        }
+
+        contacts.forEach(LazyContact::getPhone);
+        assertTrue(LazyContact.getLoadedCount() <= 4096);
+
+        // The earliest were evicted, so are loaded again
+        int loadCount = source.loadCount;
+        contacts.get(0).getPhone();
+        assertEquals(loadCount + 1, source.loadCount);
+    }
+}
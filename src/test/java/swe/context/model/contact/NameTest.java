@@ -1,6 +1,8 @@
 package swe.context.model.contact;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import org.junit.jupiter.api.Test;
@@ -46,4 +48,12 @@ public class NameTest {
         Name bob = new Name(TestData.Valid.NAME_BOB);
         assertFalse(amy.equals(bob));
     }
+
+    @Test
+    public void getSortKey_ignoresCase_cached() {
+        Name name = new Name("Alice Pauline 2");
+        assertEquals("ALICE PAULINE 2", name.getSortKey());
+        assertEquals(new Name("ALICE pauline 2").getSortKey(), name.getSortKey());
+        assertSame(name.getSortKey(), name.getSortKey());
+    }
 }
@@ -0,0 +1,75 @@
+package swe.context.model.contact;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import swe.context.testutil.ContactBuilder;
+import swe.context.testutil.TestData;
+
+public class NameWordIndexTest {
+    private final NameWordIndex index = new NameWordIndex();
+
+    @Test
+    public void findAny_noContacts_empty() {
+        assertTrue(index.findAny(Arrays.asList("alice")).isEmpty());
+    }
+
+    @Test
+    public void findAny_matchesPredicate() {
+        List<Contact> contacts = Arrays.asList(
+            TestData.Valid.Contact.ALICE,
+            TestData.Valid.Contact.BENSON,
+            TestData.Valid.Contact.CARL,
+            TestData.Valid.Contact.ELLE,
+            TestData.Valid.Contact.FIONA
+        );
+        contacts.forEach(index::add);
+
+        List<List<String>> queries = Arrays.asList(
+            Arrays.asList("Kurz", "Elle", "Kunz"),
+            Arrays.asList("aLiCe"),
+            Arrays.asList("Ali"),
+            Arrays.asList("@lice!", "#Bob"),
+            Collections.emptyList()
+        );
+        for (List<String> query : queries) {
+            NameContainsKeywordsPredicate predicate = new NameContainsKeywordsPredicate(query);
+            Set<Contact> matches = index.findAny(query);
+            for (Contact contact : contacts) {
+                assertEquals(predicate.test(contact), matches.contains(contact));
+            }
+        }
+    }
+
+    @Test
+    public void remove_contact_noLongerFound() {
+        index.add(TestData.Valid.Contact.ALICE);
+        index.remove(TestData.Valid.Contact.ALICE);
+        assertTrue(index.findAny(Arrays.asList("alice")).isEmpty());
+    }
+
+    @Test
+    public void onChanged_listModified_staysInSync() {
+        ObservableList<Contact> list = FXCollections.observableArrayList();
+        list.addListener(index);
+
+        list.add(TestData.Valid.Contact.ALICE);
+        Contact renamed = new ContactBuilder(TestData.Valid.Contact.ALICE).withName("Alicia Pauline").build();
+        list.set(0, renamed);
+
+        assertTrue(index.findAny(Arrays.asList("alice")).isEmpty());
+        assertTrue(index.findAny(Arrays.asList("alicia")).contains(renamed));
+
+        list.clear();
+        assertTrue(index.findAny(Arrays.asList("pauline")).isEmpty());
+    }
+}
@@ -5,12 +5,16 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static swe.context.testutil.Assert.assertThrows;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Random;
 
 import org.junit.jupiter.api.Test;
 
+import javafx.collections.ListChangeListener;
 import swe.context.model.contact.exceptions.ContactNotFoundException;
 import swe.context.model.contact.exceptions.DuplicateContactException;
 import swe.context.testutil.ContactBuilder;
@@ -93,6 +97,14 @@ public class UniqueContactListTest {
         );
     }
 
+    @Test
+    public void setContact_editedContactHasDifferentIdentity_oldIdentityNotContained() {
+        uniqueContactList.add(TestData.Valid.Contact.ALICE);
+        uniqueContactList.setContact(TestData.Valid.Contact.ALICE, TestData.Valid.Contact.BOB);
+        assertFalse(uniqueContactList.contains(TestData.Valid.Contact.ALICE));
+        assertTrue(uniqueContactList.contains(TestData.Valid.Contact.BOB));
+    }
+
     @Test
     public void remove_nullContact_throwsNullPointerException() {
         assertThrows(NullPointerException.class, () -> uniqueContactList.remove(null));
@@ -111,6 +123,13 @@ public class UniqueContactListTest {
         assertEquals(expectedUniqueContactList, uniqueContactList);
     }
 
+    @Test
+    public void remove_existingContact_noLongerContained() {
+        uniqueContactList.add(TestData.Valid.Contact.ALICE);
+        uniqueContactList.remove(TestData.Valid.Contact.ALICE);
+        assertFalse(uniqueContactList.contains(TestData.Valid.Contact.ALICE));
+    }
+
     @Test
     public void setContacts_list_overwritesList() {
         uniqueContactList.add(TestData.Valid.Contact.ALICE);
@@ -119,6 +138,7 @@ public class UniqueContactListTest {
         UniqueContactList expectedUniqueContactList = new UniqueContactList();
         expectedUniqueContactList.add(TestData.Valid.Contact.BOB);
         assertEquals(expectedUniqueContactList, uniqueContactList);
+        assertFalse(uniqueContactList.contains(TestData.Valid.Contact.ALICE));
     }
 
     @Test
@@ -128,6 +148,124 @@ public class UniqueContactListTest {
         assertThrows(DuplicateContactException.class, () -> uniqueContactList.setContacts(listWithDuplicateContacts));
     }
 
+    @Test
+    public void addAll_contacts_appendedInOrder() {
+        uniqueContactList.add(TestData.Valid.Contact.ALICE);
+        uniqueContactList.addAll(Arrays.asList(TestData.Valid.Contact.CARL, TestData.Valid.Contact.BENSON));
+        assertEquals(
+            Arrays.asList(TestData.Valid.Contact.ALICE, TestData.Valid.Contact.CARL, TestData.Valid.Contact.BENSON),
+            uniqueContactList.asUnmodifiableObservableList()
+        );
+        assertTrue(uniqueContactList.contains(TestData.Valid.Contact.BENSON));
+    }
+
+    @Test
+    public void addAll_existingOrRepeatedContact_throwsDuplicateContactExceptionAndUnchanged() {
+        uniqueContactList.add(TestData.Valid.Contact.ALICE);
+        assertThrows(DuplicateContactException.class, () -> uniqueContactList.addAll(
+                Arrays.asList(TestData.Valid.Contact.CARL, TestData.Valid.Contact.ALICE)));
+        assertThrows(DuplicateContactException.class, () -> uniqueContactList.addAll(
+                Arrays.asList(TestData.Valid.Contact.CARL, TestData.Valid.Contact.CARL)));
+        assertEquals(Arrays.asList(TestData.Valid.Contact.ALICE), uniqueContactList.asUnmodifiableObservableList());
+        assertFalse(uniqueContactList.contains(TestData.Valid.Contact.CARL));
+    }
+
+    @Test
+    public void removeAll_existingContacts_removedWithOneChange() {
+        uniqueContactList.setContacts(Arrays.asList(TestData.Valid.Contact.ALICE, TestData.Valid.Contact.BENSON,
+                TestData.Valid.Contact.CARL, TestData.Valid.Contact.ELLE));
+        int[] changeCount = {0};
+        uniqueContactList.asUnmodifiableObservableList().addListener(
+            (ListChangeListener<Contact>) change -> changeCount[0]++);
+
+        uniqueContactList.removeAll(Arrays.asList(TestData.Valid.Contact.ELLE, TestData.Valid.Contact.ALICE));
+
+        assertEquals(1, changeCount[0]);
+        assertEquals(Arrays.asList(TestData.Valid.Contact.BENSON, TestData.Valid.Contact.CARL),
+                uniqueContactList.asUnmodifiableObservableList());
+        assertFalse(uniqueContactList.contains(TestData.Valid.Contact.ALICE));
+    }
+
+    @Test
+    public void removeAll_contactDoesNotExist_throwsContactNotFoundExceptionAndUnchanged() {
+        uniqueContactList.add(TestData.Valid.Contact.ALICE);
+        Contact editedAlice = new ContactBuilder(TestData.Valid.Contact.ALICE).withNote("Other note").build();
+        assertThrows(ContactNotFoundException.class, () -> uniqueContactList.removeAll(
+                Arrays.asList(TestData.Valid.Contact.ALICE, TestData.Valid.Contact.BOB)));
+        assertThrows(ContactNotFoundException.class, () -> uniqueContactList.removeAll(
+                Arrays.asList(editedAlice)));
+        assertTrue(uniqueContactList.contains(TestData.Valid.Contact.ALICE));
+    }
+
+    @Test
+    public void replaceAll_swappedIdentities_success() {
+        uniqueContactList.setContacts(Arrays.asList(TestData.Valid.Contact.ALICE, TestData.Valid.Contact.BENSON));
+        Contact aliceAsBenson = new ContactBuilder(TestData.Valid.Contact.ALICE)
+                .withName(TestData.Valid.Contact.BENSON.getName().value).build();
+        Contact bensonAsAlice = new ContactBuilder(TestData.Valid.Contact.BENSON)
+                .withName(TestData.Valid.Contact.ALICE.getName().value).build();
+
+        uniqueContactList.replaceAll(Map.of(
+            TestData.Valid.Contact.ALICE, aliceAsBenson,
+            TestData.Valid.Contact.BENSON, bensonAsAlice
+        ));
+
+        assertEquals(Arrays.asList(aliceAsBenson, bensonAsAlice), uniqueContactList.asUnmodifiableObservableList());
+        assertTrue(uniqueContactList.contains(aliceAsBenson));
+        assertTrue(uniqueContactList.contains(bensonAsAlice));
+    }
+
+    @Test
+    public void replaceAll_nonUniqueIdentity_throwsDuplicateContactException() {
+        uniqueContactList.setContacts(Arrays.asList(TestData.Valid.Contact.ALICE, TestData.Valid.Contact.BENSON));
+        Contact aliceAsBenson = new ContactBuilder(TestData.Valid.Contact.ALICE)
+                .withName(TestData.Valid.Contact.BENSON.getName().value).build();
+        assertThrows(DuplicateContactException.class, () -> uniqueContactList.replaceAll(
+                Map.of(TestData.Valid.Contact.ALICE, aliceAsBenson)));
+        assertEquals(Arrays.asList(TestData.Valid.Contact.ALICE, TestData.Valid.Contact.BENSON),
+                uniqueContactList.asUnmodifiableObservableList());
+    }
+
+    @Test
+    public void removeAndSetContact_manyScatteredOperations_matchesList() {
+        List<Contact> expected = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            expected.add(new ContactBuilder().withName("Contact " + i).build());
+        }
+        uniqueContactList.setContacts(expected);
+        expected = new ArrayList<>(expected);
+
+        Random random = new Random(0);
+        for (int i = 0; i < 200; i++) {
+            Contact target = expected.get(random.nextInt(expected.size()));
+            if (random.nextBoolean()) {
+                uniqueContactList.remove(target);
+                expected.remove(target);
+            } else {
+                Contact edited = new ContactBuilder(target).withNote("Edited " + i).build();
+                uniqueContactList.setContact(target, edited);
+                expected.set(expected.indexOf(target), edited);
+            }
+            assertEquals(expected, uniqueContactList.asUnmodifiableObservableList());
+        }
+    }
+
+    @Test
+    public void getVersion_modifications_incremented() {
+        long version = uniqueContactList.getVersion();
+
+        uniqueContactList.add(TestData.Valid.Contact.ALICE);
+        assertTrue(uniqueContactList.getVersion() > version);
+        version = uniqueContactList.getVersion();
+
+        uniqueContactList.removeAll(Arrays.asList(TestData.Valid.Contact.ALICE));
+        assertTrue(uniqueContactList.getVersion() > version);
+        version = uniqueContactList.getVersion();
+
+        assertFalse(uniqueContactList.contains(TestData.Valid.Contact.ALICE));
+        assertEquals(version, uniqueContactList.getVersion());
+    }
+
     @Test
     public void asUnmodifiableObservableList_modifyList_throwsException() {
         assertThrows(UnsupportedOperationException.class, ()
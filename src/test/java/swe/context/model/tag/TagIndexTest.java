@@ -0,0 +1,79 @@
+package swe.context.model.tag;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import swe.context.model.contact.Contact;
+import swe.context.testutil.ContactBuilder;
+import swe.context.testutil.TestData;
+
+public class TagIndexTest {
+    private final TagIndex index = new TagIndex();
+
+    @Test
+    public void find_noContacts_empty() {
+        assertTrue(index.find("friends").isEmpty());
+        assertEquals(0, index.count("friends"));
+    }
+
+    @Test
+    public void find_matchesPredicate() {
+        for (Contact contact : Arrays.asList(
+            TestData.Valid.Contact.ALICE,
+            TestData.Valid.Contact.BENSON,
+            TestData.Valid.Contact.CARL,
+            TestData.Valid.Contact.DANIEL
+        )) {
+            index.add(contact);
+        }
+
+        Set<Contact> matches = index.find("FRIENDS");
+        assertEquals(3, matches.size());
+        assertTrue(matches.contains(TestData.Valid.Contact.ALICE));
+        assertTrue(matches.contains(TestData.Valid.Contact.BENSON));
+        assertTrue(matches.contains(TestData.Valid.Contact.DANIEL));
+        assertEquals(3, index.count("friends"));
+
+        // Partial tag matches are not matches
+        assertTrue(index.find("friend").isEmpty());
+        assertEquals(1, index.count("owesmoney"));
+    }
+
+    @Test
+    public void remove_contact_ordinalReused() {
+        index.add(TestData.Valid.Contact.ALICE);
+        index.add(TestData.Valid.Contact.BENSON);
+        index.remove(TestData.Valid.Contact.ALICE);
+        assertEquals(1, index.count("friends"));
+
+        index.add(TestData.Valid.Contact.DANIEL);
+        assertEquals(2, index.count("friends"));
+        assertTrue(index.find("friends").contains(TestData.Valid.Contact.DANIEL));
+        assertFalse(index.find("friends").contains(TestData.Valid.Contact.ALICE));
+    }
+
+    @Test
+    public void onChanged_listModified_staysInSync() {
+        ObservableList<Contact> list = FXCollections.observableArrayList();
+        list.addListener(index);
+
+        list.addAll(TestData.Valid.Contact.ALICE, TestData.Valid.Contact.BENSON);
+        Contact retagged = new ContactBuilder(TestData.Valid.Contact.ALICE).withTags("colleagues").build();
+        list.set(0, retagged);
+
+        assertEquals(1, index.count("friends"));
+        assertTrue(index.find("colleagues").contains(retagged));
+
+        list.clear();
+        assertEquals(0, index.count("friends"));
+        assertEquals(0, index.count("colleagues"));
+    }
+}
@@ -1,6 +1,9 @@
 package swe.context.model.tag;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import org.junit.jupiter.api.Test;
@@ -51,4 +54,12 @@ public class TagTest {
         Tag different = new Tag(TestData.Valid.Tag.ALPHANUMERIC_SPACES);
         assertFalse(alphanumeric.equals(different));
     }
+
+    @Test
+    public void of_equalValues_sameInstance() {
+        Tag tag = Tag.of(new String(TestData.Valid.Tag.ALPHANUMERIC));
+        assertSame(tag, Tag.of(new String(TestData.Valid.Tag.ALPHANUMERIC)));
+        assertEquals(new Tag(TestData.Valid.Tag.ALPHANUMERIC), tag);
+        assertNotSame(tag, Tag.of(TestData.Valid.Tag.ALPHANUMERIC_SPACES));
+    }
 }
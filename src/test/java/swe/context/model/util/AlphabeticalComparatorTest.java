@@ -0,0 +1,28 @@
+package swe.context.model.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import swe.context.model.contact.Contact;
+import swe.context.testutil.ContactBuilder;
+
+public class AlphabeticalComparatorTest {
+    @Test
+    public void compare_mixedCase_sortsIgnoringCaseThenByCase() {
+        Contact upperBob = new ContactBuilder().withName("BOB").build();
+        Contact bob = new ContactBuilder().withName("bob").build();
+        Contact alice = new ContactBuilder().withName("alice").build();
+        Contact carl = new ContactBuilder().withName("Carl").build();
+        Contact number = new ContactBuilder().withName("2nd Carl").build();
+
+        List<Contact> contacts = new ArrayList<>(Arrays.asList(carl, bob, upperBob, alice, number));
+        contacts.sort(new AlphabeticalComparator());
+
+        assertEquals(Arrays.asList(number, alice, upperBob, bob, carl), contacts);
+    }
+}
@@ -0,0 +1,107 @@
+package swe.context.model.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import javafx.collections.ListChangeListener;
+
+public class BatchObservableListTest {
+    private final BatchObservableList<Integer> list = new BatchObservableList<>();
+    private final List<Integer> mirror = new ArrayList<>();
+    private int changeCount = 0;
+
+    public BatchObservableListTest() {
+        list.addListener((ListChangeListener<Integer>) change -> {
+            changeCount++;
+            while (change.next()) {
+                mirror.subList(change.getFrom(), change.getFrom() + change.getRemovedSize()).clear();
+                mirror.addAll(change.getFrom(), change.getAddedSubList());
+            }
+        });
+    }
+
+    @Test
+    public void setAllAndAddAll_oneChangeEach() {
+        list.setAll(Arrays.asList(1, 2, 3));
+        list.addAll(Arrays.asList(4, 5));
+        list.setAll(Arrays.asList(6));
+
+        assertEquals(3, changeCount);
+        assertEquals(Arrays.asList(6), list);
+        assertEquals(list, mirror);
+    }
+
+    @Test
+    public void removeIf_scatteredMatches_oneChangeReproducingList() {
+        List<Integer> values = new ArrayList<>();
+        Random random = new Random(0);
+        for (int i = 0; i < 1000; i++) {
+            values.add(random.nextInt(10));
+        }
+        list.setAll(values);
+
+        list.removeIf(i -> i < 4);
+
+        assertEquals(2, changeCount);
+        values.removeIf(i -> i < 4);
+        assertEquals(values, list);
+        assertEquals(list, mirror);
+    }
+
+    @Test
+    public void removeIf_predicateThrows_unchanged() {
+        list.setAll(Arrays.asList(1, 2, 3));
+        assertThrows(IllegalStateException.class, () -> list.removeIf(i -> {
+            if (i == 3) {
+                throw new IllegalStateException();
+            }
+            return true;
+        }));
+        assertEquals(Arrays.asList(1, 2, 3), list);
+    }
+
+    @Test
+    public void removeIf_noMatches_noChange() {
+        list.setAll(Arrays.asList(1, 2, 3));
+        assertFalse(list.removeIf(i -> i > 3));
+        assertEquals(1, changeCount);
+    }
+
+    @Test
+    public void replaceAll_someReplaced_oneChangeReproducingList() {
+        list.setAll(Arrays.asList(1, 2, 3, 4));
+        list.replaceAll(i -> i % 2 == 0 ? Integer.valueOf(i * 10) : i);
+
+        assertEquals(2, changeCount);
+        assertEquals(Arrays.asList(1, 20, 3, 40), list);
+        assertEquals(list, mirror);
+    }
+
+    @Test
+    public void replaceAll_duringIteration_iteratorFailsFast() {
+        list.setAll(Arrays.asList(1, 2));
+        Iterator<Integer> iterator = list.iterator();
+        iterator.next();
+        list.replaceAll(i -> i * 10);
+
+        assertThrows(ConcurrentModificationException.class, iterator::next);
+    }
+
+    @Test
+    public void clear_nonEmpty_emptied() {
+        list.setAll(Arrays.asList(1, 2));
+        list.clear();
+        assertEquals(new ArrayList<>(), list);
+        assertEquals(list, mirror);
+    }
+}
@@ -0,0 +1,117 @@
+package swe.context.model.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+
+public class SortedFilteredListTest {
+    private static final Predicate<Integer> EVEN = i -> i % 2 == 0;
+
+    private final ObservableList<Integer> source = FXCollections.observableArrayList(5, 3, 8, 1, 4);
+    private final SortedFilteredList<Integer> view =
+            new SortedFilteredList<>(this.source, Comparator.naturalOrder());
+
+    @Test
+    public void constructor_unfiltered_sortsSource() {
+        assertEquals(Arrays.asList(1, 3, 4, 5, 8), view);
+    }
+
+    @Test
+    public void setPredicate_filtersAndNullResets() {
+        view.setPredicate(EVEN);
+        assertEquals(Arrays.asList(4, 8), view);
+
+        view.setPredicate(null);
+        assertEquals(Arrays.asList(1, 3, 4, 5, 8), view);
+    }
+
+    @Test
+    public void setPredicate_samePredicate_noChangeFired() {
+        view.setPredicate(EVEN);
+
+        List<ListChangeListener.Change<? extends Integer>> changes = new ArrayList<>();
+        view.addListener((ListChangeListener<Integer>) changes::add);
+        view.setPredicate(EVEN);
+
+        assertTrue(changes.isEmpty());
+    }
+
+    @Test
+    public void sourceAdd_onlyMatchingElementInsertedInPlace() {
+        view.setPredicate(EVEN);
+        List<Integer> added = new ArrayList<>();
+        view.addListener((ListChangeListener<Integer>) change -> {
+            while (change.next()) {
+                assertEquals(1, change.getFrom());
+                added.addAll(change.getAddedSubList());
+            }
+        });
+
+        source.addAll(7, 6);
+
+        assertEquals(Arrays.asList(6), added);
+        assertEquals(Arrays.asList(4, 6, 8), view);
+    }
+
+    @Test
+    public void indexOf_elements_matchPositions() {
+        assertEquals(2, view.indexOf(4));
+        assertEquals(-1, view.indexOf(7));
+        assertEquals(-1, view.indexOf("4"));
+        assertFalse(view.contains(null));
+    }
+
+    @Test
+    public void modify_unmodifiable_throwsUnsupportedOperationException() {
+        assertThrows(UnsupportedOperationException.class, () -> view.remove(0));
+        assertThrows(UnsupportedOperationException.class, () -> view.add(2));
+    }
+
+    @Test
+    public void sourceChanges_randomized_changesReproduceView() {
+        view.setPredicate(EVEN);
+        List<Integer> mirror = new ArrayList<>(view);
+        view.addListener((ListChangeListener<Integer>) change -> {
+            while (change.next()) {
+                mirror.subList(change.getFrom(), change.getFrom() + change.getRemovedSize()).clear();
+                mirror.addAll(change.getFrom(), change.getAddedSubList());
+            }
+        });
+
+        Random random = new Random(0);
+        for (int i = 0; i < 500; i++) {
+            int operation = random.nextInt(5);
+            if (operation == 0 || source.isEmpty()) {
+                source.add(random.nextInt(1000));
+            } else if (operation == 1) {
+                source.remove(random.nextInt(source.size()));
+            } else if (operation == 2) {
+                source.set(random.nextInt(source.size()), random.nextInt(1000));
+            } else if (operation == 3) {
+                // Large enough to merge rather than update incrementally
+                source.setAll(random.ints(100, 0, 1000).boxed().collect(Collectors.toList()));
+            } else {
+                source.addAll(random.ints(3, 0, 1000).boxed().collect(Collectors.toList()));
+            }
+
+            List<Integer> expected = source.stream().filter(EVEN).sorted().collect(Collectors.toList());
+            assertEquals(expected, view);
+            assertEquals(expected, mirror);
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package swe.context.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+
+import swe.context.model.Contacts;
+import swe.context.model.ContactsSavePolicy;
+import swe.context.model.ReadOnlyContacts;
+import swe.context.testutil.TestData;
+
+
+
+public class AsyncContactsStorageTest {
+    private static final long TIMEOUT_MILLIS = 5_000;
+
+    private final FakeContactsStorage delegate = new FakeContactsStorage();
+
+    @Test
+    public void saveContacts_debounce_writtenWithoutFlush() throws Exception {
+        AsyncContactsStorage storage = new AsyncContactsStorage(this.delegate, ContactsSavePolicy.DEBOUNCE, 0);
+        ReadOnlyContacts contacts = TestData.Valid.Contact.getTypicalContacts();
+
+        storage.saveContacts(contacts);
+        this.delegate.awaitWrites(1);
+
+        assertEquals(new Contacts(contacts), new Contacts(this.delegate.lastWritten));
+    }
+
+    @Test
+    public void constructor_everyCommand_throwsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () ->
+                new AsyncContactsStorage(this.delegate, ContactsSavePolicy.EVERY_COMMAND, 0));
+    }
+
+    @Test
+    public void saveContacts_debounce_burstCoalesced() throws Exception {
+        AsyncContactsStorage storage = new AsyncContactsStorage(
+            this.delegate,
+            ContactsSavePolicy.DEBOUNCE,
+            AsyncContactsStorageTest.TIMEOUT_MILLIS
+        );
+
+        Contacts contacts = new Contacts();
+        for (int i = 0; i < 10; i++) {
+            storage.saveContacts(contacts);
+        }
+        contacts.add(TestData.Valid.Contact.ALICE);
+        storage.saveContacts(contacts);
+        storage.flushContacts();
+
+        assertEquals(1, this.delegate.writeCount);
+        assertEquals(contacts, new Contacts(this.delegate.lastWritten));
+    }
+
+    @Test
+    public void saveContacts_onExit_writtenOnlyOnFlush() throws Exception {
+        AsyncContactsStorage storage = new AsyncContactsStorage(this.delegate, ContactsSavePolicy.ON_EXIT, 0);
+
+        storage.saveContacts(TestData.Valid.Contact.getTypicalContacts());
+        Thread.sleep(100);
+        assertEquals(0, this.delegate.writeCount);
+
+        storage.flushContacts();
+        assertEquals(1, this.delegate.writeCount);
+
+        // Nothing new to write
+        storage.flushContacts();
+        assertEquals(1, this.delegate.writeCount);
+    }
+
+    @Test
+    public void saveContacts_laterModified_snapshotWritten() throws Exception {
+        AsyncContactsStorage storage = new AsyncContactsStorage(this.delegate, ContactsSavePolicy.ON_EXIT, 0);
+        Contacts contacts = new Contacts();
+
+        storage.saveContacts(contacts);
+        contacts.add(TestData.Valid.Contact.ALICE);
+        storage.flushContacts();
+
+        assertEquals(new Contacts(), new Contacts(this.delegate.lastWritten));
+    }
+
+    @Test
+    public void saveContacts_writeFails_retried() throws Exception {
+        AsyncContactsStorage storage = new AsyncContactsStorage(this.delegate, ContactsSavePolicy.DEBOUNCE, 0);
+        this.delegate.failuresLeft = 2;
+
+        storage.saveContacts(TestData.Valid.Contact.getTypicalContacts());
+        this.delegate.awaitWrites(1);
+
+        assertEquals(0, this.delegate.failuresLeft);
+    }
+
+    @Test
+    public void saveContacts_earlierWriteFailed_throwsIoException() throws Exception {
+        AsyncContactsStorage storage = new AsyncContactsStorage(this.delegate, ContactsSavePolicy.DEBOUNCE, 0);
+        this.delegate.failuresLeft = Integer.MAX_VALUE;
+        ReadOnlyContacts contacts = TestData.Valid.Contact.getTypicalContacts();
+
+        storage.saveContacts(contacts);
+        // The first failure is recorded before its retry is scheduled
+        this.delegate.awaitAttempts(2);
+        synchronized (this.delegate) {
+            this.delegate.failuresLeft = 0;
+        }
+
+        assertThrows(IOException.class, () -> storage.saveContacts(contacts));
+        this.delegate.awaitWrites(1);
+        assertEquals(new Contacts(contacts), new Contacts(this.delegate.lastWritten));
+    }
+
+    @Test
+    public void readContacts_pendingWrite_writtenFirst() throws Exception {
+        AsyncContactsStorage storage = new AsyncContactsStorage(this.delegate, ContactsSavePolicy.ON_EXIT, 0);
+        ReadOnlyContacts contacts = TestData.Valid.Contact.getTypicalContacts();
+
+        storage.saveContacts(contacts);
+
+        assertEquals(new Contacts(contacts), storage.readContacts().get());
+    }
+
+    @Test
+    public void flushContacts_writeFails_throwsIoException() throws Exception {
+        AsyncContactsStorage storage = new AsyncContactsStorage(this.delegate, ContactsSavePolicy.ON_EXIT, 0);
+        this.delegate.failuresLeft = 1;
+
+        storage.saveContacts(TestData.Valid.Contact.getTypicalContacts());
+
+        assertThrows(IOException.class, storage::flushContacts);
+    }
+
+    /**
+     * {@link ContactsStorage} that records what it is asked to save, and can
+     * be made to fail.
+     */
+    private static class FakeContactsStorage implements ContactsStorage {
+        private int attemptCount = 0;
+        private int writeCount = 0;
+        private int failuresLeft = 0;
+        private ReadOnlyContacts lastWritten = null;
+
+        @Override
+        public Path getContactsPath() {
+            throw new AssertionError("This method should not be called.");
+        }
+
+        @Override
+        public synchronized Optional<Contacts> readContacts() {
+            return Optional.ofNullable(this.lastWritten).map(Contacts::new);
+        }
+
+        @Override
+        public synchronized void saveContacts(ReadOnlyContacts contacts) throws IOException {
+            this.attemptCount++;
+            this.notifyAll();
+            if (this.failuresLeft > 0) {
+                this.failuresLeft--;
+                throw new IOException("Dummy IOException");
+            }
+            this.writeCount++;
+            this.lastWritten = contacts;
+            this.notifyAll();
+        }
+
+        @Override
+        public void flushContacts() {}
+
+        synchronized void awaitWrites(int count) throws InterruptedException {
+            long deadline = System.currentTimeMillis() + AsyncContactsStorageTest.TIMEOUT_MILLIS;
+            while (this.writeCount < count) {
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    throw new AssertionError("Timed out waiting for writes");
+                }
+                this.wait(remaining);
+            }
+        }
+
+        synchronized void awaitAttempts(int count) throws InterruptedException {
+            long deadline = System.currentTimeMillis() + AsyncContactsStorageTest.TIMEOUT_MILLIS;
+            while (this.attemptCount < count) {
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    throw new AssertionError("Timed out waiting for attempts");
+                }
+                this.wait(remaining);
+            }
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package swe.context.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.junit.jupiter.api.io.TempDir;
+
+import swe.context.commons.util.Durability;
+import swe.context.model.Contacts;
+import swe.context.testutil.BenchmarkUtil;
+
+
+
+/**
+ * Benchmarks {@link BinaryContactsStorage} against compact
+ * {@link JsonContactsStorage}, when enabled as {@link BenchmarkUtil}
+ * describes.
+ */
+@EnabledIfEnvironmentVariable(named = BenchmarkUtil.ENABLING_VARIABLE, matches = "true")
+public class BinaryContactsStorageBenchmark {
+    private static final int WARMUP_RUNS = 3;
+    private static final int MEASURED_RUNS = 5;
+
+    @TempDir
+    public Path tempDir;
+
+    /**
+     * Prints the file size and median save and read times of each format,
+     * reading binary both eagerly and lazily.
+     */
+    @Test
+    public void saveAndReadContacts_eachFormat_timesReported() throws Exception {
+        int count = BenchmarkUtil.getContactCount();
+        ContactsStorage[] storages = {
+            new JsonContactsStorage(
+                this.tempDir.resolve("contacts.json"),
+                true,
+                JsonContactsWriter.DEFAULT_COMPRESSION_LEVEL,
+                Durability.NONE,
+                false
+            ),
+            new BinaryContactsStorage(this.tempDir.resolve("contacts.bin"), Durability.NONE, false),
+            new BinaryContactsStorage(this.tempDir.resolve("lazy.bin"), Durability.NONE, true),
+        };
+        String[] labels = {"JSON", "binary", "binary, lazily"};
+
+        // Saved first, so that reads are not timed with the saved contacts still taking up heap
+        long[] saveMillis = this.measureSaves(storages, count);
+        for (int i = 0; i < storages.length; i++) {
+            ContactsStorage storage = storages[i];
+            long readMillis = this.measure(() ->
+                    assertEquals(count, storage.readContacts().get().getUnmodifiableList().size()));
+            System.out.printf(
+                "%d contacts as %s: %d KB file, saved in %d ms, read in %d ms%n",
+                count,
+                labels[i],
+                Files.size(storage.getContactsPath()) >> 10,
+                saveMillis[i],
+                readMillis
+            );
+        }
+    }
+
+    private long[] measureSaves(ContactsStorage[] storages, int count) throws Exception {
+        Contacts contacts = BenchmarkUtil.generateContacts(count);
+        long[] millis = new long[storages.length];
+        for (int i = 0; i < storages.length; i++) {
+            ContactsStorage storage = storages[i];
+            millis[i] = this.measure(() -> storage.saveContacts(contacts));
+        }
+        return millis;
+    }
+
+    /**
+     * Returns the median time in milliseconds the specified task takes, after
+     * running it a few times to warm up.
+     */
+    private long measure(Task task) throws Exception {
+        for (int i = 0; i < BinaryContactsStorageBenchmark.WARMUP_RUNS; i++) {
+            task.run();
+        }
+
+        long[] nanos = new long[BinaryContactsStorageBenchmark.MEASURED_RUNS];
+        for (int i = 0; i < nanos.length; i++) {
+            long start = System.nanoTime();
+            task.run();
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+        return nanos[nanos.length / 2] / 1_000_000;
+    }
+
+    private interface Task {
+        void run() throws Exception;
+    }
+}
@@ -0,0 +1,175 @@
+package swe.context.storage;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import swe.context.commons.exceptions.DataLoadingException;
+import swe.context.commons.util.Durability;
+import swe.context.model.Contacts;
+import swe.context.model.contact.Contact;
+import swe.context.model.contact.LazyContact;
+import swe.context.testutil.ContactBuilder;
+import swe.context.testutil.TestData;
+
+
+
+public class BinaryContactsStorageTest {
+    @TempDir
+    public Path tempDir;
+
+    private BinaryContactsStorage createStorage() {
+        return new BinaryContactsStorage(this.tempDir.resolve("contacts.bin"), Durability.NONE);
+    }
+
+    @Test
+    public void isBinaryPath() {
+        assertTrue(BinaryContactsStorage.isBinaryPath(Paths.get("data", "contacts.bin")));
+        assertFalse(BinaryContactsStorage.isBinaryPath(Paths.get("data", "contacts.json")));
+        assertFalse(BinaryContactsStorage.isBinaryPath(Paths.get("bin", "contacts.json")));
+    }
+
+    @Test
+    public void readContacts_missingFile_empty() throws Exception {
+        assertFalse(this.createStorage().readContacts().isPresent());
+    }
+
+    @Test
+    public void saveContacts_typical_readBackEqual() throws Exception {
+        BinaryContactsStorage storage = this.createStorage();
+        Contacts contacts = TestData.Valid.Contact.getTypicalContacts();
+        contacts.add(new ContactBuilder().withName("Unicode").withNote("Caf\u00e9 \u4f60\u597d").build());
+
+        storage.saveContacts(contacts);
+
+        assertEquals(contacts, storage.readContacts().get());
+    }
+
+    @Test
+    public void saveContacts_manyContacts_readBackEqual() throws Exception {
+        // Large enough to be read through a memory mapping
+        BinaryContactsStorage storage = this.createStorage();
+        Contacts contacts = new Contacts();
+        for (int i = 0; i < 5000; i++) {
+            contacts.add(new ContactBuilder().withName("Person " + i).withNote("Note \u00e9 " + i).build());
+        }
+
+        storage.saveContacts(contacts);
+
+        assertEquals(contacts, storage.readContacts().get());
+    }
+
+    @Test
+    public void readContacts_lazy_equalToEager() throws Exception {
+        Path path = this.tempDir.resolve("contacts.bin");
+        Contacts contacts = new Contacts();
+        for (int i = 0; i < 5000; i++) {
+            contacts.add(new ContactBuilder().withName("Person " + i).withTags("t" + (i % 7)).build());
+        }
+        this.createStorage().saveContacts(contacts);
+
+        Contacts lazy = new BinaryContactsStorage(path, Durability.NONE, true).readContacts().get();
+
+        assertTrue(lazy.getUnmodifiableList().get(0) instanceof LazyContact);
+        assertEquals(this.createStorage().readContacts().get(), lazy);
+        assertEquals(contacts.countWithTag("t3"), lazy.countWithTag("t3"));
+    }
+
+    @Test
+    public void saveContacts_readLazily_readBackEqual() throws Exception {
+        Path path = this.tempDir.resolve("contacts.bin");
+        this.createStorage().saveContacts(TestData.Valid.Contact.getTypicalContacts());
+        BinaryContactsStorage storage = new BinaryContactsStorage(path, Durability.NONE, true);
+        Contacts contacts = storage.readContacts().get();
+
+        // Replaces the file the lazy contacts were read from
+        storage.saveContacts(contacts);
+
+        assertEquals(TestData.Valid.Contact.getTypicalContacts(), this.createStorage().readContacts().get());
+    }
+
+    @Test
+    public void saveContacts_convertedFromJson_convertsBackIdentically() throws Exception {
+        Path jsonPath = this.tempDir.resolve("contacts.json");
+        Path convertedPath = this.tempDir.resolve("converted.json");
+        BinaryContactsStorage storage = this.createStorage();
+        new JsonContactsStorage(jsonPath).saveContacts(TestData.Valid.Contact.getTypicalContacts());
+
+        storage.saveContacts(new JsonContactsStorage(jsonPath).readContacts().get());
+        new JsonContactsStorage(convertedPath).saveContacts(storage.readContacts().get());
+
+        assertArrayEquals(Files.readAllBytes(jsonPath), Files.readAllBytes(convertedPath));
+    }
+
+    @Test
+    public void read_corruptedByte_throwsDataLoadingException() throws Exception {
+        byte[] bytes = this.toBytes(TestData.Valid.Contact.getTypicalContacts().getUnmodifiableList());
+        bytes[bytes.length / 2] ^= 1;
+        Files.write(this.tempDir.resolve("contacts.bin"), bytes);
+
+        assertThrows(DataLoadingException.class, () -> this.createStorage().readContacts());
+    }
+
+    @Test
+    public void read_truncated_throwsDataLoadingException() throws Exception {
+        byte[] bytes = this.toBytes(TestData.Valid.Contact.getTypicalContacts().getUnmodifiableList());
+        Files.write(this.tempDir.resolve("contacts.bin"), Arrays.copyOf(bytes, bytes.length - 1));
+
+        assertThrows(DataLoadingException.class, () -> this.createStorage().readContacts());
+    }
+
+    @Test
+    public void read_notBinary_throwsDataLoadingException() throws Exception {
+        Files.writeString(this.tempDir.resolve("contacts.bin"), "{\"contacts\": []}");
+
+        assertThrows(DataLoadingException.class, () -> this.createStorage().readContacts());
+    }
+
+    @Test
+    public void read_duplicateContacts_throwsDataLoadingException() throws Exception {
+        Contact alice = TestData.Valid.Contact.ALICE;
+        Files.write(this.tempDir.resolve("contacts.bin"), this.toBytes(Arrays.asList(alice, alice)));
+
+        assertThrows(DataLoadingException.class, () -> this.createStorage().readContacts());
+    }
+
+    @Test
+    public void read_invalidPhoneWithChecksum_throwsDataLoadingException() throws Exception {
+        Contact contact = new ContactBuilder().withPhone("phone").build();
+        Files.write(this.tempDir.resolve("contacts.bin"), this.toBytes(Arrays.asList(contact)));
+
+        assertThrows(DataLoadingException.class, () -> this.createStorage().readContacts());
+        BinaryContactsStorage lazyStorage = new BinaryContactsStorage(
+            this.tempDir.resolve("contacts.bin"),
+            Durability.NONE,
+            true
+        );
+        assertThrows(DataLoadingException.class, () -> lazyStorage.readContacts());
+    }
+
+    @Test
+    public void read_invalidTagWithChecksum_throwsDataLoadingException() throws Exception {
+        Contact contact = new ContactBuilder().withTags("not valid!").build();
+        Files.write(this.tempDir.resolve("contacts.bin"), this.toBytes(Arrays.asList(contact)));
+
+        assertThrows(DataLoadingException.class, () -> this.createStorage().readContacts());
+    }
+
+    private byte[] toBytes(List<Contact> contacts) throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        BinaryContactsStorage.write(contacts, output);
+        return output.toByteArray();
+    }
+}
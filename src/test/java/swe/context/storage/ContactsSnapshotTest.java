@@ -0,0 +1,71 @@
+package swe.context.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import swe.context.model.Contacts;
+import swe.context.testutil.TestData;
+
+
+
+public class ContactsSnapshotTest {
+    private static final long FILE_SIZE = 1234;
+    private static final int FILE_CHECKSUM = 0x12345678;
+
+    @TempDir
+    public Path tempDir;
+
+    private ContactsSnapshot createSnapshot() {
+        return new ContactsSnapshot(this.tempDir.resolve("contacts.json"));
+    }
+
+    @Test
+    public void read_noSnapshot_empty() {
+        assertFalse(this.createSnapshot().read(FILE_SIZE, FILE_CHECKSUM).isPresent());
+    }
+
+    @Test
+    public void read_sameFile_writtenContacts() throws Exception {
+        Contacts contacts = TestData.Valid.Contact.getTypicalContacts();
+        this.createSnapshot().write(contacts.getUnmodifiableList(), FILE_SIZE, FILE_CHECKSUM);
+
+        assertEquals(contacts, this.createSnapshot().read(FILE_SIZE, FILE_CHECKSUM).get());
+    }
+
+    @Test
+    public void read_fileChanged_empty() throws Exception {
+        ContactsSnapshot snapshot = this.createSnapshot();
+        snapshot.write(TestData.Valid.Contact.getTypicalContacts().getUnmodifiableList(), FILE_SIZE, FILE_CHECKSUM);
+
+        assertFalse(snapshot.read(FILE_SIZE + 1, FILE_CHECKSUM).isPresent());
+        assertFalse(snapshot.read(FILE_SIZE, FILE_CHECKSUM + 1).isPresent());
+    }
+
+    @Test
+    public void read_corrupted_empty() throws Exception {
+        ContactsSnapshot snapshot = this.createSnapshot();
+        snapshot.write(TestData.Valid.Contact.getTypicalContacts().getUnmodifiableList(), FILE_SIZE, FILE_CHECKSUM);
+        byte[] bytes = Files.readAllBytes(snapshot.getPath());
+        bytes[bytes.length / 2] ^= 1;
+        Files.write(snapshot.getPath(), bytes);
+
+        assertFalse(snapshot.read(FILE_SIZE, FILE_CHECKSUM).isPresent());
+    }
+
+    @Test
+    public void checksumOf_differentContents_different() throws Exception {
+        Path file = this.tempDir.resolve("file.txt");
+        Files.writeString(file, "Contents");
+        int checksum = ContactsSnapshot.checksumOf(file);
+
+        assertEquals(checksum, ContactsSnapshot.checksumOf(file));
+        Files.writeString(file, "Contentz");
+        assertFalse(checksum == ContactsSnapshot.checksumOf(file));
+    }
+}
@@ -0,0 +1,184 @@
+package swe.context.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import swe.context.commons.exceptions.DataLoadingException;
+import swe.context.commons.util.Durability;
+import swe.context.model.Contacts;
+import swe.context.model.JournalSyncPolicy;
+import swe.context.testutil.ContactBuilder;
+import swe.context.testutil.TestData;
+
+
+
+public class JournaledContactsStorageTest {
+    private static final long NEVER_COMPACT = Long.MAX_VALUE;
+
+    @TempDir
+    public Path tempDir;
+
+    private JournaledContactsStorage createStorage(long compactionBytes) {
+        return new JournaledContactsStorage(
+            this.tempDir.resolve("contacts.json"),
+            true,
+            JsonContactsWriter.DEFAULT_COMPRESSION_LEVEL,
+            Durability.FILE,
+            JournalSyncPolicy.EVERY_SAVE,
+            compactionBytes
+        );
+    }
+
+    @Test
+    public void readContacts_noFiles_empty() throws Exception {
+        assertFalse(this.createStorage(NEVER_COMPACT).readContacts().isPresent());
+    }
+
+    @Test
+    public void saveContacts_changesAfterRead_onlyJournalWritten() throws Exception {
+        Contacts contacts = TestData.Valid.Contact.getTypicalContacts();
+        this.createStorage(NEVER_COMPACT).saveContacts(contacts);
+        Path path = this.tempDir.resolve("contacts.json");
+        byte[] fileBytes = Files.readAllBytes(path);
+
+        JournaledContactsStorage storage = this.createStorage(NEVER_COMPACT);
+        contacts = storage.readContacts().get();
+        contacts.add(TestData.Valid.Contact.AMY);
+        contacts.remove(TestData.Valid.Contact.ALICE);
+        contacts.update(
+            TestData.Valid.Contact.BENSON,
+            new ContactBuilder(TestData.Valid.Contact.BENSON).withPhone("12345678").build()
+        );
+        storage.saveContacts(contacts);
+
+        assertEquals(3, Files.readAllLines(storage.getJournalPath()).size());
+        assertEquals(new String(fileBytes, StandardCharsets.UTF_8), Files.readString(path));
+        assertEquals(contacts, this.createStorage(NEVER_COMPACT).readContacts().get());
+    }
+
+    @Test
+    public void readContacts_journalingTurnedOff_journalCompacted() throws Exception {
+        Path path = this.tempDir.resolve("contacts.json");
+        this.createStorage(NEVER_COMPACT).saveContacts(TestData.Valid.Contact.getTypicalContacts());
+        JournaledContactsStorage storage = this.createStorage(NEVER_COMPACT);
+        Contacts contacts = storage.readContacts().get();
+        contacts.add(TestData.Valid.Contact.AMY);
+        storage.saveContacts(contacts);
+
+        JsonContactsStorage plainStorage = new JsonContactsStorage(path);
+        assertEquals(contacts, plainStorage.readContacts().get());
+        assertFalse(Files.exists(storage.getJournalPath()));
+
+        // Turning journaling back on does not replay the old changes over newer saves
+        contacts.remove(TestData.Valid.Contact.AMY);
+        plainStorage.saveContacts(contacts);
+        assertEquals(contacts, this.createStorage(NEVER_COMPACT).readContacts().get());
+    }
+
+    @Test
+    public void saveContacts_unchanged_nothingAppended() throws Exception {
+        JournaledContactsStorage storage = this.createStorage(NEVER_COMPACT);
+        storage.saveContacts(TestData.Valid.Contact.getTypicalContacts());
+
+        Contacts contacts = storage.readContacts().get();
+        storage.saveContacts(contacts);
+
+        assertFalse(Files.exists(storage.getJournalPath()));
+    }
+
+    @Test
+    public void saveContacts_journalPastThreshold_compacted() throws Exception {
+        JournaledContactsStorage storage = this.createStorage(0);
+        storage.saveContacts(new Contacts());
+        Contacts contacts = storage.readContacts().get();
+
+        contacts.add(TestData.Valid.Contact.ALICE);
+        storage.saveContacts(contacts);
+        storage.flushContacts();
+
+        assertFalse(Files.exists(storage.getJournalPath()));
+        assertEquals(contacts, new JsonContactsStorage(storage.getContactsPath()).readContacts().get());
+
+        // Journaling resumes after compacting
+        contacts.add(TestData.Valid.Contact.BENSON);
+        storage.saveContacts(contacts);
+        storage.flushContacts();
+        assertEquals(contacts, this.createStorage(NEVER_COMPACT).readContacts().get());
+    }
+
+    @Test
+    public void readContacts_incompleteLastRecord_ignoredAndCutOff() throws Exception {
+        JournaledContactsStorage storage = this.createStorage(NEVER_COMPACT);
+        storage.saveContacts(new Contacts());
+        Contacts contacts = storage.readContacts().get();
+        contacts.add(TestData.Valid.Contact.ALICE);
+        storage.saveContacts(contacts);
+        Files.write(storage.getJournalPath(), "{\"op\":\"add\",\"con".getBytes(), StandardOpenOption.APPEND);
+
+        storage = this.createStorage(NEVER_COMPACT);
+        assertEquals(contacts, storage.readContacts().get());
+
+        contacts.add(TestData.Valid.Contact.BENSON);
+        storage.saveContacts(contacts);
+        assertEquals(contacts, this.createStorage(NEVER_COMPACT).readContacts().get());
+    }
+
+    @Test
+    public void readContacts_interruptedCompaction_replayedIdempotently() throws Exception {
+        JournaledContactsStorage storage = this.createStorage(NEVER_COMPACT);
+        storage.saveContacts(new Contacts());
+        Contacts contacts = storage.readContacts().get();
+        contacts.add(TestData.Valid.Contact.ALICE);
+        storage.saveContacts(contacts);
+
+        // As if the file had been rewritten, but the moved journal not yet deleted
+        new JsonContactsStorage(storage.getContactsPath()).saveContacts(contacts);
+        Files.move(storage.getJournalPath(), this.tempDir.resolve("contacts.json.journal.compacting"));
+
+        assertEquals(contacts, this.createStorage(NEVER_COMPACT).readContacts().get());
+    }
+
+    @Test
+    public void saveContacts_staleCompactionPastThreshold_compactedOnce() throws Exception {
+        JournaledContactsStorage storage = this.createStorage(NEVER_COMPACT);
+        storage.saveContacts(new Contacts());
+        Contacts contacts = storage.readContacts().get();
+        contacts.add(TestData.Valid.Contact.ALICE);
+        storage.saveContacts(contacts);
+        Path compactingPath = this.tempDir.resolve("contacts.json.journal.compacting");
+        Files.move(storage.getJournalPath(), compactingPath);
+
+        storage = this.createStorage(0);
+        contacts = storage.readContacts().get();
+        contacts.add(TestData.Valid.Contact.BENSON);
+        storage.saveContacts(contacts);
+        storage.flushContacts();
+
+        assertFalse(Files.exists(compactingPath));
+
+        // The journal left behind is covered by the file, so saving nothing new does not compact again
+        storage.saveContacts(contacts);
+        storage.flushContacts();
+        assertTrue(Files.exists(storage.getJournalPath()));
+        assertEquals(contacts, this.createStorage(NEVER_COMPACT).readContacts().get());
+    }
+
+    @Test
+    public void readContacts_invalidRecord_throwsDataLoadingException() throws Exception {
+        JournaledContactsStorage storage = this.createStorage(NEVER_COMPACT);
+        Files.writeString(storage.getJournalPath(), "{\"op\":\"rename\"}\n");
+
+        assertThrows(DataLoadingException.class, storage::readContacts);
+        assertTrue(Files.exists(storage.getJournalPath()));
+    }
+}
@@ -0,0 +1,99 @@
+package swe.context.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import swe.context.commons.exceptions.IllegalValueException;
+import swe.context.logic.Messages;
+import swe.context.model.contact.Contact;
+import swe.context.testutil.ContactBuilder;
+
+
+
+public class JsonContactConverterTest {
+    // Spans several chunks
+    private static final int COUNT = 5000;
+
+    private List<JsonContact> createJsonContacts() {
+        List<JsonContact> jsonContacts = new ArrayList<>();
+        for (int i = 0; i < COUNT; i++) {
+            jsonContacts.add(new JsonContact(new ContactBuilder().withName("Person " + i).build()));
+        }
+        return jsonContacts;
+    }
+
+    private JsonContact createInvalid(String phone) {
+        return new JsonContact("Invalid", phone, "valid@example.com", "", null, null);
+    }
+
+    private List<Contact> convert(List<JsonContact> jsonContacts, boolean isParallel)
+            throws IllegalValueException {
+        JsonContactConverter converter = new JsonContactConverter(isParallel);
+        for (JsonContact jsonContact : jsonContacts) {
+            converter.add(jsonContact);
+        }
+        return converter.finish();
+    }
+
+    @Test
+    public void finish_valid_convertedInOrder() throws Exception {
+        List<JsonContact> jsonContacts = this.createJsonContacts();
+        List<Contact> expected = new ArrayList<>();
+        for (JsonContact jsonContact : jsonContacts) {
+            expected.add(jsonContact.toModelType());
+        }
+
+        assertEquals(expected, this.convert(jsonContacts, false));
+        assertEquals(expected, this.convert(jsonContacts, true));
+    }
+
+    @Test
+    public void finish_severalInvalid_firstReported() {
+        List<JsonContact> jsonContacts = this.createJsonContacts();
+        jsonContacts.set(4000, new JsonContact("Invalid", "123", "not an email", "", null, null));
+        jsonContacts.set(2500, this.createInvalid(null));
+
+        for (boolean isParallel : new boolean[] {false, true}) {
+            IllegalValueException e = assertThrows(
+                IllegalValueException.class,
+                () -> this.convert(jsonContacts, isParallel)
+            );
+            assertEquals(Messages.fieldMissing("Phone"), e.getMessage());
+        }
+    }
+
+    @Test
+    public void finish_duplicateBeforeInvalid_duplicateReported() {
+        List<JsonContact> jsonContacts = this.createJsonContacts();
+        jsonContacts.set(3000, jsonContacts.get(10));
+        jsonContacts.set(3001, this.createInvalid(null));
+
+        for (boolean isParallel : new boolean[] {false, true}) {
+            IllegalValueException e = assertThrows(
+                IllegalValueException.class,
+                () -> this.convert(jsonContacts, isParallel)
+            );
+            assertEquals(Messages.CONVERT_CONTACTS_DUPLICATE, e.getMessage());
+        }
+    }
+
+    @Test
+    public void finish_invalidBeforeDuplicate_invalidReported() {
+        List<JsonContact> jsonContacts = this.createJsonContacts();
+        jsonContacts.set(3000, this.createInvalid(null));
+        jsonContacts.set(3001, jsonContacts.get(10));
+
+        for (boolean isParallel : new boolean[] {false, true}) {
+            IllegalValueException e = assertThrows(
+                IllegalValueException.class,
+                () -> this.convert(jsonContacts, isParallel)
+            );
+            assertEquals(Messages.fieldMissing("Phone"), e.getMessage());
+        }
+    }
+}
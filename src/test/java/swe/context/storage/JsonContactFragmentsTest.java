@@ -0,0 +1,89 @@
+package swe.context.storage;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import swe.context.commons.util.Durability;
+import swe.context.model.contact.Contact;
+import swe.context.testutil.ContactBuilder;
+import swe.context.testutil.TestData;
+
+
+
+public class JsonContactFragmentsTest {
+    @TempDir
+    public Path tempDir;
+
+    private void assertSameAsUncached(boolean isCompact) throws Exception {
+        List<Contact> contacts = TestData.Valid.Contact.getTypicalContacts().getUnmodifiableList();
+        Path uncachedPath = this.tempDir.resolve("uncached.json");
+        Path cachedPath = this.tempDir.resolve("cached.json");
+        JsonContactFragments fragments = new JsonContactFragments(isCompact);
+
+        JsonContactsWriter.write(contacts, uncachedPath, isCompact, Durability.NONE);
+        // Once to fill the cache, then again from it
+        JsonContactsWriter.write(contacts, cachedPath, fragments, 0, Durability.NONE);
+        assertArrayEquals(Files.readAllBytes(uncachedPath), Files.readAllBytes(cachedPath));
+        JsonContactsWriter.write(contacts, cachedPath, fragments, 0, Durability.NONE);
+        assertArrayEquals(Files.readAllBytes(uncachedPath), Files.readAllBytes(cachedPath));
+    }
+
+    @Test
+    public void write_indented_sameAsUncached() throws Exception {
+        this.assertSameAsUncached(false);
+    }
+
+    @Test
+    public void write_compact_sameAsUncached() throws Exception {
+        this.assertSameAsUncached(true);
+    }
+
+    @Test
+    public void writeElements_sameContactsAgain_sameBytes() throws Exception {
+        List<Contact> contacts = TestData.Valid.Contact.getTypicalContacts().getUnmodifiableList();
+        JsonContactFragments fragments = new JsonContactFragments(true);
+
+        assertArrayEquals(this.writeElements(fragments, contacts), this.writeElements(fragments, contacts));
+        assertEquals(contacts.size(), fragments.size());
+    }
+
+    @Test
+    public void writeElements_contactEdited_editWritten() throws Exception {
+        List<Contact> contacts = new ArrayList<>(TestData.Valid.Contact.getTypicalContacts().getUnmodifiableList());
+        JsonContactFragments fragments = new JsonContactFragments(true);
+        this.writeElements(fragments, contacts);
+
+        contacts.set(0, new ContactBuilder(contacts.get(0)).withNote("Edited note").build());
+        String written = new String(this.writeElements(fragments, contacts), StandardCharsets.UTF_8);
+        assertTrue(written.contains("Edited note"));
+        assertEquals(contacts.size(), fragments.size());
+    }
+
+    @Test
+    public void writeElements_contactRemoved_fragmentDropped() throws Exception {
+        List<Contact> contacts = new ArrayList<>(TestData.Valid.Contact.getTypicalContacts().getUnmodifiableList());
+        JsonContactFragments fragments = new JsonContactFragments(false);
+        this.writeElements(fragments, contacts);
+
+        contacts.remove(0);
+        this.writeElements(fragments, contacts);
+        assertEquals(contacts.size(), fragments.size());
+    }
+
+    private byte[] writeElements(JsonContactFragments fragments, List<Contact> contacts) throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        fragments.writeElements(contacts, output);
+        return output.toByteArray();
+    }
+}
@@ -0,0 +1,61 @@
+package swe.context.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.junit.jupiter.api.io.TempDir;
+
+import swe.context.commons.util.Durability;
+import swe.context.model.Contacts;
+import swe.context.testutil.BenchmarkUtil;
+
+
+
+/**
+ * Benchmarks {@link JsonContactsStorage}, when enabled as
+ * {@link BenchmarkUtil} describes.
+ */
+@EnabledIfEnvironmentVariable(named = BenchmarkUtil.ENABLING_VARIABLE, matches = "true")
+public class JsonContactsStorageBenchmark {
+    @TempDir
+    public Path tempDir;
+
+    private JsonContactsStorage createStorage(Path path, boolean isLazy) {
+        return new JsonContactsStorage(
+            path,
+            true,
+            JsonContactsWriter.DEFAULT_COMPRESSION_LEVEL,
+            Durability.NONE,
+            false,
+            isLazy
+        );
+    }
+
+    /**
+     * Prints the heap taken up by contacts held as {@link Contacts} of whole
+     * contacts, and as lazy contacts with their other fields in columns.
+     */
+    @Test
+    public void readContacts_eagerAndLazy_heapReported() throws Exception {
+        int count = BenchmarkUtil.getContactCount();
+        Path path = this.tempDir.resolve("contacts.json");
+        this.createStorage(path, false).saveContacts(BenchmarkUtil.generateContacts(count));
+
+        for (boolean isLazy : new boolean[] {false, true}) {
+            long baseline = BenchmarkUtil.getUsedHeap();
+            Contacts contacts = this.createStorage(path, isLazy).readContacts().get();
+            long used = BenchmarkUtil.getUsedHeap() - baseline;
+            assertEquals(count, contacts.getUnmodifiableList().size());
+            System.out.printf(
+                "%d contacts held %s: %d MB heap, %d B/contact%n",
+                count,
+                isLazy ? "lazily" : "eagerly",
+                used >> 20,
+                used / count
+            );
+        }
+    }
+}
@@ -1,18 +1,26 @@
 package swe.context.storage;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.util.Optional;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 
 import swe.context.commons.exceptions.DataLoadingException;
+import swe.context.commons.util.Durability;
+import swe.context.commons.util.JsonUtil;
 import swe.context.model.Contacts;
 import swe.context.model.ReadOnlyContacts;
+import swe.context.model.contact.LazyContact;
 import swe.context.testutil.TestData;
 
 public class JsonContactsStorageTest {
@@ -46,6 +54,176 @@ public class JsonContactsStorageTest {
         assertEquals(expected, actual);
     }
 
+    @Test
+    public void readContacts_notJson_throwsDataLoadingException() {
+        assertThrows(DataLoadingException.class, () -> this.read("../notJson.json"));
+    }
+
+    @Test
+    public void readContacts_invalidContact_throwsDataLoadingException() {
+        assertThrows(DataLoadingException.class, () -> this.read("invalidContacts.json"));
+    }
+
+    @Test
+    public void readContacts_duplicateContacts_throwsDataLoadingException() {
+        assertThrows(DataLoadingException.class, () -> this.read("duplicateContacts.json"));
+    }
+
+    @Test
+    public void readContacts_unknownFieldsAndNullContacts_ignored() throws Exception {
+        Path tempPath = JsonContactsStorageTest.tempDir.resolve("unknownFields.json");
+        Files.writeString(tempPath, "{\"version\": {\"major\": [1]}, \"contacts\": null}");
+
+        assertEquals(new Contacts(), new JsonContactsStorage(tempPath).readContacts().get());
+    }
+
+    @Test
+    public void readContacts_contactNotObject_throwsDataLoadingException() throws Exception {
+        Path tempPath = JsonContactsStorageTest.tempDir.resolve("contactNotObject.json");
+        Files.writeString(tempPath, "{\"contacts\": [\"Alice\"]}");
+
+        assertThrows(DataLoadingException.class, () -> new JsonContactsStorage(tempPath).readContacts());
+    }
+
+    @Test
+    public void readContacts_lazy_equalToEager() throws Exception {
+        Path tempPath = JsonContactsStorageTest.tempDir.resolve("lazy.json");
+        Contacts contacts = TestData.Valid.Contact.getTypicalContacts();
+        new JsonContactsStorage(tempPath).saveContacts(contacts);
+
+        Contacts lazy = new JsonContactsStorage(
+            tempPath,
+            true,
+            JsonContactsWriter.DEFAULT_COMPRESSION_LEVEL,
+            Durability.NONE,
+            false,
+            true
+        ).readContacts().get();
+
+        assertTrue(lazy.getUnmodifiableList().get(0) instanceof LazyContact);
+        assertEquals(contacts, lazy);
+    }
+
+    @Test
+    public void saveContacts_pretty_sameAsJsonContacts() throws Exception {
+        Path tempPath = JsonContactsStorageTest.tempDir.resolve("pretty.json");
+        Contacts contacts = TestData.Valid.Contact.getTypicalContacts();
+
+        new JsonContactsStorage(tempPath).saveContacts(contacts);
+
+        assertEquals(JsonUtil.toJsonString(new JsonContacts(contacts)), Files.readString(tempPath));
+    }
+
+    @Test
+    public void saveContacts_compact_readBackEqual() throws Exception {
+        Path tempPath = JsonContactsStorageTest.tempDir.resolve("folder/compact.json");
+        Contacts contacts = TestData.Valid.Contact.getTypicalContacts();
+
+        new JsonContactsStorage(tempPath, true, JsonContactsWriter.DEFAULT_COMPRESSION_LEVEL, Durability.NONE, false)
+                .saveContacts(contacts);
+
+        assertFalse(Files.readString(tempPath).contains("\n"));
+        assertEquals(contacts, new JsonContactsStorage(tempPath).readContacts().get());
+    }
+
+    @Test
+    public void saveContacts_gzPath_gzippedAndReadBackEqual() throws Exception {
+        Path plainPath = JsonContactsStorageTest.tempDir.resolve("folder/plain.json");
+        Path gzPath = JsonContactsStorageTest.tempDir.resolve("folder/gzipped.json.gz");
+        Contacts contacts = TestData.Valid.Contact.getTypicalContacts();
+
+        new JsonContactsStorage(plainPath).saveContacts(contacts);
+        new JsonContactsStorage(gzPath).saveContacts(contacts);
+
+        byte[] bytes = Files.readAllBytes(gzPath);
+        assertEquals((byte) 0x1F, bytes[0]);
+        assertEquals((byte) 0x8B, bytes[1]);
+        assertTrue(bytes.length < Files.size(plainPath));
+        assertEquals(contacts, new JsonContactsStorage(gzPath).readContacts().get());
+    }
+
+    @Test
+    public void readContacts_gzippedWithoutGzName_readBackEqual() throws Exception {
+        Path gzPath = JsonContactsStorageTest.tempDir.resolve("folder/renamed.json.gz");
+        Path renamedPath = JsonContactsStorageTest.tempDir.resolve("folder/renamed.json");
+        Contacts contacts = TestData.Valid.Contact.getTypicalContacts();
+
+        new JsonContactsStorage(gzPath).saveContacts(contacts);
+        Files.move(gzPath, renamedPath, StandardCopyOption.REPLACE_EXISTING);
+
+        assertEquals(contacts, new JsonContactsStorage(renamedPath).readContacts().get());
+    }
+
+    @Test
+    public void saveContacts_compressionLevelOutOfRange_clamped() throws Exception {
+        Path tempPath = JsonContactsStorageTest.tempDir.resolve("folder/clamped.json.gz");
+        Contacts contacts = TestData.Valid.Contact.getTypicalContacts();
+
+        new JsonContactsStorage(tempPath, false, 42, Durability.NONE, false).saveContacts(contacts);
+
+        assertEquals(contacts, new JsonContactsStorage(tempPath).readContacts().get());
+    }
+
+    @Test
+    public void readContacts_snapshotOfUnchangedFile_snapshotRead() throws Exception {
+        Path tempPath = JsonContactsStorageTest.tempDir.resolve("folder/snapshotted.json");
+        JsonContactsStorage storage = this.createSnapshotStorage(tempPath);
+        storage.saveContacts(TestData.Valid.Contact.getTypicalContacts());
+
+        // Only read if the snapshot is used, as it is not what the file holds
+        Contacts snapshotContacts = new Contacts();
+        snapshotContacts.add(TestData.Valid.Contact.AMY);
+        new ContactsSnapshot(tempPath).write(
+            snapshotContacts.getUnmodifiableList(),
+            Files.size(tempPath),
+            ContactsSnapshot.checksumOf(tempPath)
+        );
+
+        assertEquals(snapshotContacts, this.createSnapshotStorage(tempPath).readContacts().get());
+    }
+
+    @Test
+    public void readContacts_fileChangedSinceSnapshot_fileReadAndSnapshotRetaken() throws Exception {
+        Path tempPath = JsonContactsStorageTest.tempDir.resolve("folder/changed.json");
+        this.createSnapshotStorage(tempPath).saveContacts(TestData.Valid.Contact.getTypicalContacts());
+
+        Contacts changedContacts = new Contacts();
+        changedContacts.add(TestData.Valid.Contact.AMY);
+        new JsonContactsStorage(tempPath).saveContacts(changedContacts);
+
+        assertEquals(changedContacts, this.createSnapshotStorage(tempPath).readContacts().get());
+        assertEquals(
+            changedContacts,
+            new ContactsSnapshot(tempPath).read(Files.size(tempPath), ContactsSnapshot.checksumOf(tempPath)).get()
+        );
+    }
+
+    @Test
+    public void saveContacts_snapshotEnabled_snapshotOnlyTakenOnFlush() throws Exception {
+        Path tempPath = JsonContactsStorageTest.tempDir.resolve("folder/flushed.json");
+        JsonContactsStorage storage = this.createSnapshotStorage(tempPath);
+        Contacts contacts = TestData.Valid.Contact.getTypicalContacts();
+
+        storage.saveContacts(contacts);
+        assertFalse(Files.exists(new ContactsSnapshot(tempPath).getPath()));
+
+        storage.flushContacts();
+        assertEquals(
+            contacts,
+            new ContactsSnapshot(tempPath).read(Files.size(tempPath), ContactsSnapshot.checksumOf(tempPath)).get()
+        );
+    }
+
+    private JsonContactsStorage createSnapshotStorage(Path path) {
+        return new JsonContactsStorage(
+            path,
+            false,
+            JsonContactsWriter.DEFAULT_COMPRESSION_LEVEL,
+            Durability.NONE,
+            true
+        );
+    }
+
     @Test
     public void saveContacts() throws DataLoadingException, IOException {
         Path tempPath = JsonContactsStorageTest.tempDir.resolve("tempContacts.json");
@@ -0,0 +1,268 @@
+package swe.context.storage;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashSet;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import swe.context.commons.exceptions.DataLoadingException;
+import swe.context.commons.util.Durability;
+import swe.context.model.Contacts;
+import swe.context.model.contact.Contact;
+import swe.context.testutil.ContactBuilder;
+
+
+
+public class RecordContactsStorageTest {
+    private static final int MAX_WASTE_PERCENT = 50;
+
+    @TempDir
+    public Path tempDir;
+
+    private RecordContactsStorage createStorage(int maxWastePercent) {
+        return new RecordContactsStorage(this.tempDir.resolve("contacts.records"), Durability.NONE, maxWastePercent);
+    }
+
+    private RecordContactsStorage createStorage() {
+        return this.createStorage(MAX_WASTE_PERCENT);
+    }
+
+    private Contacts createContacts(int count) {
+        Contacts contacts = new Contacts();
+        for (int i = 0; i < count; i++) {
+            contacts.add(new ContactBuilder().withName("Person " + i).build());
+        }
+        return contacts;
+    }
+
+    /**
+     * Returns a storage that has saved, then read back, the specified number
+     * of contacts.
+     */
+    private RecordContactsStorage createSavedStorage(int count) throws Exception {
+        this.createStorage().saveContacts(this.createContacts(count));
+        return this.createStorage();
+    }
+
+    @Test
+    public void isRecordPath() {
+        assertTrue(RecordContactsStorage.isRecordPath(Path.of("data", "contacts.records")));
+        assertFalse(RecordContactsStorage.isRecordPath(Path.of("data", "contacts.json")));
+    }
+
+    @Test
+    public void readContacts_noFile_empty() throws Exception {
+        assertFalse(this.createStorage().readContacts().isPresent());
+    }
+
+    @Test
+    public void saveContacts_typical_readBackSame() throws Exception {
+        Contacts contacts = this.createContacts(20);
+        this.createStorage().saveContacts(contacts);
+
+        assertEquals(contacts, this.createStorage().readContacts().get());
+    }
+
+    @Test
+    public void saveContacts_contactEdited_ownRecordNotWrittenOver() throws Exception {
+        RecordContactsStorage storage = this.createSavedStorage(20);
+        Contacts contacts = storage.readContacts().get();
+        byte[] bytes = Files.readAllBytes(storage.getContactsPath());
+
+        Contact edited = contacts.getUnmodifiableList().get(5);
+        contacts.update(edited, new ContactBuilder(edited).withNote("Edit").build());
+        storage.saveContacts(contacts);
+
+        // Only the old record's length is marked deleted
+        byte[] patched = Files.readAllBytes(storage.getContactsPath());
+        assertTrue(patched.length > bytes.length);
+        int differentCount = 0;
+        for (int i = 0; i < bytes.length; i++) {
+            if (bytes[i] != patched[i]) {
+                differentCount++;
+            }
+        }
+        assertTrue(differentCount <= Integer.BYTES);
+        assertEquals(1, storage.getStats().getDeletedCount());
+        this.assertSameContacts(contacts, this.createStorage().readContacts().get());
+    }
+
+    @Test
+    public void saveContacts_contactEditedAgain_freedRecordReused() throws Exception {
+        RecordContactsStorage storage = this.createSavedStorage(20);
+        Contacts contacts = storage.readContacts().get();
+        Contact edited = contacts.getUnmodifiableList().get(5);
+        Contact firstEdit = new ContactBuilder(edited).withNote("Edit").build();
+        contacts.update(edited, firstEdit);
+        storage.saveContacts(contacts);
+        long fileBytes = Files.size(storage.getContactsPath());
+
+        contacts.update(firstEdit, new ContactBuilder(edited).withNote("Edit again").build());
+        storage.saveContacts(contacts);
+
+        assertEquals(fileBytes, Files.size(storage.getContactsPath()));
+        assertEquals(1, storage.getStats().getDeletedCount());
+        this.assertSameContacts(contacts, this.createStorage().readContacts().get());
+    }
+
+    @Test
+    public void saveContacts_contactGrownPastSlack_movedToEnd() throws Exception {
+        RecordContactsStorage storage = this.createSavedStorage(20);
+        Contacts contacts = storage.readContacts().get();
+        long fileBytes = Files.size(storage.getContactsPath());
+
+        Contact edited = contacts.getUnmodifiableList().get(5);
+        contacts.update(edited, new ContactBuilder(edited).withNote("A much longer note ".repeat(10)).build());
+        storage.saveContacts(contacts);
+
+        assertTrue(Files.size(storage.getContactsPath()) > fileBytes);
+        assertEquals(1, storage.getStats().getDeletedCount());
+        this.assertSameContacts(contacts, this.createStorage().readContacts().get());
+    }
+
+    @Test
+    public void saveContacts_contactRemoved_recordDeleted() throws Exception {
+        RecordContactsStorage storage = this.createSavedStorage(20);
+        Contacts contacts = storage.readContacts().get();
+
+        contacts.remove(contacts.getUnmodifiableList().get(3));
+        storage.saveContacts(contacts);
+
+        RecordContactsStorage reread = this.createStorage();
+        assertEquals(contacts, reread.readContacts().get());
+        assertEquals(19, reread.getStats().getRecordCount());
+        assertEquals(1, reread.getStats().getDeletedCount());
+    }
+
+    @Test
+    public void saveContacts_contactAddedAfterRemoval_deletedRecordReused() throws Exception {
+        RecordContactsStorage storage = this.createSavedStorage(20);
+        Contacts contacts = storage.readContacts().get();
+        long fileBytes = Files.size(storage.getContactsPath());
+
+        contacts.remove(contacts.getUnmodifiableList().get(3));
+        storage.saveContacts(contacts);
+        contacts.add(new ContactBuilder().withName("Other").build());
+        storage.saveContacts(contacts);
+
+        assertEquals(fileBytes, Files.size(storage.getContactsPath()));
+        assertEquals(0, storage.getStats().getDeletedCount());
+        this.assertSameContacts(contacts, this.createStorage().readContacts().get());
+    }
+
+    @Test
+    public void saveContacts_contactAddedWithRemoval_removedRecordNotReused() throws Exception {
+        RecordContactsStorage storage = this.createSavedStorage(20);
+        Contacts contacts = storage.readContacts().get();
+        long fileBytes = Files.size(storage.getContactsPath());
+
+        contacts.remove(contacts.getUnmodifiableList().get(3));
+        contacts.add(new ContactBuilder().withName("Other").build());
+        storage.saveContacts(contacts);
+
+        assertTrue(Files.size(storage.getContactsPath()) > fileBytes);
+        assertEquals(1, storage.getStats().getDeletedCount());
+        this.assertSameContacts(contacts, this.createStorage().readContacts().get());
+    }
+
+    @Test
+    public void saveContacts_tooMuchWasted_rewritten() throws Exception {
+        this.createStorage().saveContacts(this.createContacts(20));
+        RecordContactsStorage storage = this.createStorage(30);
+        Contacts contacts = storage.readContacts().get();
+
+        for (int i = 0; i < 10; i++) {
+            contacts.remove(contacts.getUnmodifiableList().get(0));
+        }
+        storage.saveContacts(contacts);
+
+        assertEquals(0, storage.getStats().getDeletedCount());
+        assertEquals(storage.getStats().getFileBytes(), Files.size(storage.getContactsPath()));
+        assertEquals(contacts, this.createStorage().readContacts().get());
+    }
+
+    @Test
+    public void readContacts_recordCorrupted_recordSkippedThenRewritten() throws Exception {
+        RecordContactsStorage storage = this.createSavedStorage(5);
+        byte[] bytes = Files.readAllBytes(storage.getContactsPath());
+        // Inside the first record's data
+        bytes[30] ^= 1;
+        Files.write(storage.getContactsPath(), bytes);
+
+        Contacts contacts = storage.readContacts().get();
+        assertEquals(4, contacts.getUnmodifiableList().size());
+
+        storage.saveContacts(contacts);
+        RecordContactsStorage reread = this.createStorage();
+        assertEquals(contacts, reread.readContacts().get());
+        assertEquals(0, reread.getStats().getDeletedCount());
+    }
+
+    @Test
+    public void readContacts_lastRecordCutShort_recordSkipped() throws Exception {
+        RecordContactsStorage storage = this.createSavedStorage(5);
+        byte[] bytes = Files.readAllBytes(storage.getContactsPath());
+        Files.write(storage.getContactsPath(), Arrays.copyOf(bytes, bytes.length - 10));
+
+        assertEquals(4, storage.readContacts().get().getUnmodifiableList().size());
+    }
+
+    @Test
+    public void readContacts_moveNotMarkedDeleted_throwsDataLoadingException() throws Exception {
+        RecordContactsStorage storage = this.createSavedStorage(20);
+        Contacts contacts = storage.readContacts().get();
+        byte[] beforeMove = Files.readAllBytes(storage.getContactsPath());
+        Contact original = contacts.getUnmodifiableList().get(5);
+        contacts.update(original, new ContactBuilder(original).withNote("A much longer note ".repeat(10)).build());
+        storage.saveContacts(contacts);
+
+        // As if the save stopped after appending the moved record, before
+        // marking its old record deleted
+        byte[] afterMove = Files.readAllBytes(storage.getContactsPath());
+        byte[] bytes = Arrays.copyOf(beforeMove, afterMove.length);
+        System.arraycopy(afterMove, beforeMove.length, bytes, beforeMove.length, afterMove.length - beforeMove.length);
+        Files.write(storage.getContactsPath(), bytes);
+
+        RecordContactsStorage reread = this.createStorage();
+        assertThrows(DataLoadingException.class, reread::readContacts);
+        assertThrows(IOException.class, () -> reread.saveContacts(contacts));
+        assertArrayEquals(bytes, Files.readAllBytes(storage.getContactsPath()));
+    }
+
+    @Test
+    public void readContacts_notRecordsFile_throwsDataLoadingException() throws Exception {
+        RecordContactsStorage storage = this.createStorage();
+        Files.writeString(storage.getContactsPath(), "{\"contacts\": []}");
+
+        assertThrows(DataLoadingException.class, storage::readContacts);
+    }
+
+    @Test
+    public void saveContacts_afterFailedRead_throwsIoException() throws Exception {
+        RecordContactsStorage storage = this.createStorage();
+        Files.writeString(storage.getContactsPath(), "{\"contacts\": []}");
+        assertThrows(DataLoadingException.class, storage::readContacts);
+
+        assertThrows(IOException.class, () -> storage.saveContacts(new Contacts()));
+        assertEquals("{\"contacts\": []}", Files.readString(storage.getContactsPath()));
+    }
+
+    /**
+     * Asserts the specified {@link Contacts} hold the same {@link Contact}s,
+     * as contacts are read back in file order.
+     */
+    private void assertSameContacts(Contacts expected, Contacts actual) {
+        assertEquals(expected.getUnmodifiableList().size(), actual.getUnmodifiableList().size());
+        assertEquals(new HashSet<>(expected.getUnmodifiableList()), new HashSet<>(actual.getUnmodifiableList()));
+    }
+}
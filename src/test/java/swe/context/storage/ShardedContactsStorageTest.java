@@ -0,0 +1,286 @@
+package swe.context.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import swe.context.commons.exceptions.DataLoadingException;
+import swe.context.commons.util.Durability;
+import swe.context.model.Contacts;
+import swe.context.model.JournalSyncPolicy;
+import swe.context.model.contact.Contact;
+import swe.context.model.contact.Name;
+import swe.context.testutil.ContactBuilder;
+import swe.context.testutil.TestData;
+
+
+
+public class ShardedContactsStorageTest {
+    private static final int SHARD_COUNT = 4;
+
+    @TempDir
+    public Path tempDir;
+
+    private ShardedContactsStorage createStorage(int shardCount) {
+        return new ShardedContactsStorage(
+            this.tempDir.resolve("contacts.json"),
+            shardCount,
+            false,
+            JsonContactsWriter.DEFAULT_COMPRESSION_LEVEL,
+            Durability.NONE,
+            false
+        );
+    }
+
+    private Contacts createContacts(int count) {
+        Contacts contacts = new Contacts();
+        for (int i = 0; i < count; i++) {
+            contacts.add(new ContactBuilder().withName("Person " + i).build());
+        }
+        return contacts;
+    }
+
+    @Test
+    public void shardOf_sameName_sameShard() {
+        assertEquals(
+            ShardedContactsStorage.shardOf(new Name("Alice Pauline"), SHARD_COUNT),
+            ShardedContactsStorage.shardOf(new Name("Alice Pauline"), SHARD_COUNT)
+        );
+    }
+
+    @Test
+    public void shardOf_manyNames_everyShardUsed() {
+        Set<Integer> shards = new HashSet<>();
+        for (int i = 0; i < 100; i++) {
+            shards.add(ShardedContactsStorage.shardOf(new Name("Person " + i), SHARD_COUNT));
+        }
+        assertEquals(SHARD_COUNT, shards.size());
+    }
+
+    @Test
+    public void readContacts_noFiles_empty() throws Exception {
+        assertFalse(this.createStorage(SHARD_COUNT).readContacts().isPresent());
+    }
+
+    @Test
+    public void saveContacts_typical_readBackSame() throws Exception {
+        Contacts contacts = this.createContacts(50);
+        this.createStorage(SHARD_COUNT).saveContacts(contacts);
+
+        this.assertSameContacts(contacts, this.createStorage(SHARD_COUNT).readContacts().get());
+    }
+
+    @Test
+    public void saveContacts_oneContactEdited_onlyItsShardRewritten() throws Exception {
+        this.createStorage(SHARD_COUNT).saveContacts(this.createContacts(50));
+        ShardedContactsStorage storage = this.createStorage(SHARD_COUNT);
+        Contacts contacts = storage.readContacts().get();
+        List<byte[]> before = this.readShards(storage);
+
+        Contact edited = contacts.getUnmodifiableList().get(10);
+        contacts.update(edited, new ContactBuilder(edited).withNote("Edited").build());
+        storage.saveContacts(contacts);
+
+        List<byte[]> after = this.readShards(storage);
+        int editedShard = ShardedContactsStorage.shardOf(edited.getName(), SHARD_COUNT);
+        for (int i = 0; i < SHARD_COUNT; i++) {
+            assertEquals(i != editedShard, Arrays.equals(before.get(i), after.get(i)));
+        }
+        this.assertSameContacts(contacts, this.createStorage(SHARD_COUNT).readContacts().get());
+    }
+
+    @Test
+    public void saveContacts_firstContactRemoved_onlyItsShardRewritten() throws Exception {
+        this.createStorage(SHARD_COUNT).saveContacts(this.createContacts(50));
+        ShardedContactsStorage storage = this.createStorage(SHARD_COUNT);
+        Contacts contacts = storage.readContacts().get();
+        // Marks every shard, so that rewriting one with the same contents still shows
+        for (int i = 0; i < SHARD_COUNT; i++) {
+            Files.writeString(storage.getShardPath(i), "\n\n\n", StandardOpenOption.APPEND);
+        }
+        List<byte[]> before = this.readShards(storage);
+
+        Contact removed = contacts.getUnmodifiableList().get(0);
+        contacts.remove(removed);
+        storage.saveContacts(contacts);
+
+        List<byte[]> after = this.readShards(storage);
+        int removedShard = ShardedContactsStorage.shardOf(removed.getName(), SHARD_COUNT);
+        for (int i = 0; i < SHARD_COUNT; i++) {
+            assertEquals(i != removedShard, Arrays.equals(before.get(i), after.get(i)));
+        }
+        this.assertSameContacts(contacts, this.createStorage(SHARD_COUNT).readContacts().get());
+    }
+
+    @Test
+    public void readContacts_shardingTurnedOff_shardsMerged() throws Exception {
+        Path path = this.tempDir.resolve("contacts.json");
+        new JsonContactsStorage(path).saveContacts(this.createContacts(5));
+        ShardedContactsStorage storage = this.createStorage(SHARD_COUNT);
+        Contacts contacts = storage.readContacts().get();
+        contacts.add(TestData.Valid.Contact.AMY);
+        storage.saveContacts(contacts);
+
+        JsonContactsStorage plainStorage = new JsonContactsStorage(path);
+        this.assertSameContacts(contacts, plainStorage.readContacts().get());
+        assertFalse(Files.exists(storage.getShardFolder()));
+
+        // Turning sharding back on splits the single file again
+        contacts.remove(TestData.Valid.Contact.AMY);
+        plainStorage.saveContacts(contacts);
+        this.assertSameContacts(contacts, this.createStorage(SHARD_COUNT).readContacts().get());
+    }
+
+    @Test
+    public void readContacts_shardingTurnedOffWithJournal_shardsMerged() throws Exception {
+        Path path = this.tempDir.resolve("contacts.json");
+        Contacts contacts = this.createContacts(20);
+        this.createStorage(SHARD_COUNT).saveContacts(contacts);
+
+        JournaledContactsStorage journaledStorage = new JournaledContactsStorage(
+            path,
+            false,
+            JsonContactsWriter.DEFAULT_COMPRESSION_LEVEL,
+            Durability.NONE,
+            JournalSyncPolicy.EVERY_SAVE,
+            Long.MAX_VALUE
+        );
+        this.assertSameContacts(contacts, journaledStorage.readContacts().get());
+        assertFalse(Files.exists(this.createStorage(SHARD_COUNT).getShardFolder()));
+    }
+
+    @Test
+    public void saveContacts_contactRenamedAcrossShards_readBackSame() throws Exception {
+        ShardedContactsStorage storage = this.createStorage(SHARD_COUNT);
+        storage.saveContacts(this.createContacts(20));
+        Contacts contacts = storage.readContacts().get();
+
+        Contact renamed = contacts.getUnmodifiableList().get(0);
+        String newName = this.findNameInOtherShard(renamed.getName());
+        contacts.update(renamed, new ContactBuilder(renamed).withName(newName).build());
+        storage.saveContacts(contacts);
+
+        this.assertSameContacts(contacts, this.createStorage(SHARD_COUNT).readContacts().get());
+    }
+
+    @Test
+    public void readContacts_onlySingleFile_readThenSplitOnSave() throws Exception {
+        Contacts contacts = TestData.Valid.Contact.getTypicalContacts();
+        new JsonContactsStorage(this.tempDir.resolve("contacts.json")).saveContacts(contacts);
+
+        ShardedContactsStorage storage = this.createStorage(SHARD_COUNT);
+        assertEquals(contacts, storage.readContacts().get());
+        storage.saveContacts(contacts);
+
+        for (int i = 0; i < SHARD_COUNT; i++) {
+            assertTrue(Files.exists(storage.getShardPath(i)));
+        }
+        this.assertSameContacts(contacts, this.createStorage(SHARD_COUNT).readContacts().get());
+    }
+
+    @Test
+    public void readContacts_onlySingleFileWithJournal_compactedAsConfigured() throws Exception {
+        Path path = this.tempDir.resolve("contacts.json");
+        JournaledContactsStorage journaledStorage = new JournaledContactsStorage(
+            path,
+            false,
+            JsonContactsWriter.DEFAULT_COMPRESSION_LEVEL,
+            Durability.NONE,
+            JournalSyncPolicy.EVERY_SAVE,
+            Long.MAX_VALUE
+        );
+        journaledStorage.saveContacts(new Contacts());
+        Contacts contacts = journaledStorage.readContacts().get();
+        contacts.add(TestData.Valid.Contact.ALICE);
+        journaledStorage.saveContacts(contacts);
+
+        ShardedContactsStorage storage = new ShardedContactsStorage(
+            path,
+            SHARD_COUNT,
+            true,
+            JsonContactsWriter.DEFAULT_COMPRESSION_LEVEL,
+            Durability.NONE,
+            false
+        );
+        assertEquals(contacts, storage.readContacts().get());
+
+        // Folded into the file as this storage is configured to write
+        assertFalse(Files.exists(journaledStorage.getJournalPath()));
+        assertFalse(Files.readString(path).contains("\n"));
+    }
+
+    @Test
+    public void saveContacts_shardCountChanged_resharded() throws Exception {
+        Contacts contacts = this.createContacts(30);
+        this.createStorage(2).saveContacts(contacts);
+
+        ShardedContactsStorage storage = this.createStorage(SHARD_COUNT);
+        contacts = storage.readContacts().get();
+        storage.saveContacts(contacts);
+
+        try (Stream<Path> files = Files.list(storage.getShardFolder())) {
+            assertEquals(SHARD_COUNT + 1, files.count());
+        }
+        this.assertSameContacts(contacts, this.createStorage(SHARD_COUNT).readContacts().get());
+    }
+
+    @Test
+    public void readContacts_manifestOutsideFolder_throwsDataLoadingException() throws Exception {
+        ShardedContactsStorage storage = this.createStorage(SHARD_COUNT);
+        storage.saveContacts(this.createContacts(5));
+        Files.writeString(storage.getShardFolder().resolve("manifest.json"), "{\"shards\": [\"../contacts.json\"]}");
+
+        assertThrows(DataLoadingException.class, storage::readContacts);
+    }
+
+    @Test
+    public void readContacts_duplicateAcrossShards_throwsDataLoadingException() throws Exception {
+        ShardedContactsStorage storage = this.createStorage(SHARD_COUNT);
+        storage.saveContacts(this.createContacts(50));
+        Files.copy(storage.getShardPath(0), storage.getShardPath(1), StandardCopyOption.REPLACE_EXISTING);
+
+        assertThrows(DataLoadingException.class, storage::readContacts);
+    }
+
+    /**
+     * Asserts the specified {@link Contacts} hold the same {@link Contact}s,
+     * as contacts are read back in shard order.
+     */
+    private void assertSameContacts(Contacts expected, Contacts actual) {
+        assertEquals(expected.getUnmodifiableList().size(), actual.getUnmodifiableList().size());
+        assertEquals(new HashSet<>(expected.getUnmodifiableList()), new HashSet<>(actual.getUnmodifiableList()));
+    }
+
+    private List<byte[]> readShards(ShardedContactsStorage storage) throws IOException {
+        List<byte[]> shards = new ArrayList<>();
+        for (int i = 0; i < SHARD_COUNT; i++) {
+            shards.add(Files.readAllBytes(storage.getShardPath(i)));
+        }
+        return shards;
+    }
+
+    private String findNameInOtherShard(Name name) {
+        int shard = ShardedContactsStorage.shardOf(name, SHARD_COUNT);
+        return Stream.iterate(0, i -> i + 1)
+                .map(i -> "Renamed " + i)
+                .filter(candidate -> ShardedContactsStorage.shardOf(new Name(candidate), SHARD_COUNT) != shard)
+                .findFirst()
+                .get();
+    }
+}
@@ -0,0 +1,69 @@
+package swe.context.testutil;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import swe.context.model.Contacts;
+import swe.context.model.alternate.AlternateContact;
+import swe.context.model.contact.Contact;
+import swe.context.model.contact.Email;
+import swe.context.model.contact.Name;
+import swe.context.model.contact.Note;
+import swe.context.model.contact.Phone;
+import swe.context.model.tag.Tag;
+
+
+
+/**
+ * Helpers for benchmarks, which only run when the environment variable
+ * {@value #ENABLING_VARIABLE} is {@code true}, and print their results.
+ */
+public class BenchmarkUtil {
+    /** Environment variable that enables benchmarks when {@code true}. */
+    public static final String ENABLING_VARIABLE = "CONTEXT_BENCHMARK";
+
+    private static final String[] TAGS = {"friends", "colleagues", "family", "cs2103", "gym", "neighbours", "club"};
+
+    /**
+     * Returns the number of contacts to benchmark with, from the environment
+     * variable {@code CONTEXT_BENCHMARK_CONTACTS} if set.
+     */
+    public static int getContactCount() {
+        String count = System.getenv("CONTEXT_BENCHMARK_CONTACTS");
+        return count == null ? 200_000 : Integer.parseInt(count);
+    }
+
+    /**
+     * Returns the specified number of distinct valid contacts, each with two
+     * of a few shared tags and one alternate of its own.
+     */
+    public static Contacts generateContacts(int count) {
+        List<Contact> contacts = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            contacts.add(new Contact(
+                new Name("Person " + i),
+                new Phone("9" + (1_000_000 + i)),
+                new Email("p" + i + "@example.com"),
+                new Note("Met at event " + i % 1000),
+                Set.of(Tag.of(TAGS[i % TAGS.length]), Tag.of(TAGS[i / TAGS.length % TAGS.length] + "x")),
+                Set.of(AlternateContact.of("Telegram: person" + i))
+            ));
+        }
+
+        Contacts modelContacts = new Contacts();
+        modelContacts.setContacts(contacts);
+        return modelContacts;
+    }
+
+    /**
+     * Returns how many bytes of heap are in use after collecting garbage.
+     */
+    public static long getUsedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}